@@ -48,6 +48,11 @@ public class AccountPage extends BasePage {
     }
 
     public void submit() {
-        webDriver.findElement(createAccountFormBy).submit();
+        var form = webDriver.findElement(createAccountFormBy);
+        form.submit();
+
+        // Wait for the result page, so the success message can be probed without waiting
+        waitForNavigationFrom(form);
+        waitForQuiet();
     }
 }
@@ -1,16 +1,34 @@
 package miniproject;
 
 import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public abstract class BasePage {
 
@@ -36,6 +54,87 @@ public abstract class BasePage {
     private static final By successMessageBy =
             By.cssSelector("li.success-msg span");
 
+    // ===== Zero-wait probes =====
+    // Runs the lookup in the page for the locator strategies the DOM can answer directly;
+    // returns null for the rest so the caller falls back to a lookup with the implicit wait off
+    private static final String PROBE_SCRIPT = """
+            var root = arguments[0] || document, using = arguments[1], value = arguments[2];
+            var selector = null;
+            switch (using) {
+                case 'css selector': selector = value; break;
+                case 'id': selector = '#' + CSS.escape(value); break;
+                case 'class name': selector = '.' + CSS.escape(value); break;
+                case 'name': selector = '[name="' + CSS.escape(value) + '"]'; break;
+                case 'tag name': selector = value; break;
+                case 'xpath':
+                    var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    var nodes = [];
+                    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }
+                    return nodes;
+                default: return null;
+            }
+            return Array.from(root.querySelectorAll(selector));
+            """;
+
+    // Returns [index of the first selector with a visible match, that element], or null
+    private static final String FIRST_VISIBLE_SCRIPT = """
+            var root = arguments[0] || document, selectors = arguments[1];
+            for (var i = 0; i < selectors.length; i++) {
+                var matches = root.querySelectorAll(selectors[i]);
+                for (var j = 0; j < matches.length; j++) {
+                    var el = matches[j];
+                    if (el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden') {
+                        return [i, el];
+                    }
+                }
+            }
+            return null;
+            """;
+
+    // For each expectation: {scopes: count, found: [{scope, text, visible, values: {property: computed value}}]}
+    private static final String COMPUTED_STYLES_SCRIPT = """
+            return arguments[0].map(function (expectation) {
+                var scopes = expectation.scope ? Array.from(document.querySelectorAll(expectation.scope)) : [document];
+                var found = [];
+                scopes.forEach(function (scope, scopeIndex) {
+                    scope.querySelectorAll(expectation.selector).forEach(function (el) {
+                        var style = getComputedStyle(el), values = {};
+                        expectation.properties.forEach(function (p) { values[p] = style.getPropertyValue(p); });
+                        found.push({
+                            scope: expectation.scope ? scopeIndex : -1,
+                            text: el.textContent.trim().substring(0, 40),
+                            visible: el.getClientRects().length > 0 && style.visibility !== 'hidden',
+                            values: values
+                        });
+                    });
+                });
+                return {scopes: scopes.length, found: found};
+            });
+            """;
+
+    // label -> option id for one attribute of the layered navigation ("Shopping Options")
+    private static final String FILTER_OPTIONS_SCRIPT = """
+            var code = arguments[0], options = {};
+            document.querySelectorAll('#narrow-by-list a[href]').forEach(function (a) {
+                var value = new URL(a.href, location.href).searchParams.get(code);
+                if (value === null) {
+                    return;
+                }
+                var img = a.querySelector('img');
+                var label = a.title || (img && img.alt) || a.textContent;
+                options[label.replace(/\\(\\d+\\)/, '').trim()] = value;
+            });
+            return options;
+            """;
+
+    private static final AtomicLong HOVER_PROBE_SEQUENCE = new AtomicLong();
+
+    // ===== Waits =====
+    protected static final Duration DEFAULT_WAIT = Duration.ofSeconds(10);
+    private static final long INITIAL_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+    protected static final Duration QUIET_WINDOW = Duration.ofMillis(Long.getLong("page.quietWindow.ms", 300));
+
     protected final WebDriver webDriver;
 
     public BasePage(WebDriver webDriver) {
@@ -89,17 +188,51 @@ public abstract class BasePage {
         }
     }
 
+    // ===== Direct navigation =====
+
+    /**
+     * Load {@code route} directly and wait for its {@link PageType#readiness()}.
+     */
+    public void open(PageType route) {
+        navigate("BasePage.open " + route, () -> {
+            try (Span _ = Spans.open("open").attribute("url", route.getUrl())) {
+                webDriver.get(route.getUrl());
+                waitFor(route.readiness());
+                collectTimings();
+            }
+        });
+    }
+
+    /**
+     * Load a filtered or sorted listing directly and wait until its grid is there.
+     */
+    public void open(ListingUrl listing) {
+        navigate("BasePage.open " + listing.getRoute(), () -> {
+            try (Span _ = Spans.open("open").attribute("url", listing.build())) {
+                webDriver.get(listing.build());
+                waitFor(listing.getRoute().readiness());
+                collectTimings();
+            }
+        });
+    }
+
+    /**
+     * Layered-navigation options of the current listing for {@code attributeCode}, as
+     * label to option id (e.g. "Black" to "20"), read in one script call.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> getFilterOptions(String attributeCode) {
+        Validate.notBlank(attributeCode, "attributeCode is required");
+        return Map.copyOf((Map<String, String>) ((JavascriptExecutor) webDriver).executeScript(
+                FILTER_OPTIONS_SCRIPT, attributeCode));
+    }
 
     // ===== Women navigation =====
     private static final By womenMenuBy = By.linkText("WOMEN");
     private static final By viewAllWomenBy = By.linkText("View All Women");
 
     public void openAllWomenPage() {
-        var actions = new org.openqa.selenium.interactions.Actions(webDriver);
-        var womenMenu = webDriver.findElement(womenMenuBy);
-
-        actions.moveToElement(womenMenu).perform();
-        webDriver.findElement(viewAllWomenBy).click();
+        openFromMenu("BasePage.openAllWomenPage", womenMenuBy, viewAllWomenBy);
     }
 
     // ===== Men navigation =====
@@ -107,11 +240,7 @@ public abstract class BasePage {
     private static final By viewAllMenBy = By.linkText("View All Men");
 
     public void openAllMenPage() {
-        var actions = new org.openqa.selenium.interactions.Actions(webDriver);
-        var menMenu = webDriver.findElement(menMenuBy);
-
-        actions.moveToElement(menMenu).perform();
-        webDriver.findElement(viewAllMenBy).click();
+        openFromMenu("BasePage.openAllMenPage", menMenuBy, viewAllMenBy);
     }
 
     // ===== Sale navigation =====
@@ -119,28 +248,87 @@ public abstract class BasePage {
     private static final By viewAllSaleBy = By.linkText("View All Sale");
 
     public void openAllSalePage() {
-        var actions = new org.openqa.selenium.interactions.Actions(webDriver);
-        var saleMenu = webDriver.findElement(saleMenuBy);
+        openFromMenu("BasePage.openAllSalePage", saleMenuBy, viewAllSaleBy);
+    }
+
+    // Hover the top-level menu, click its "View All" entry and wait for the listing
+    private void openFromMenu(String action, By menuBy, By viewAllBy) {
+        navigate(action, () -> {
+            var actions = new org.openqa.selenium.interactions.Actions(webDriver);
+            var menu = webDriver.findElement(menuBy);
+
+            actions.moveToElement(menu).perform();
+            clickAndWaitForNavigation(webDriver.findElement(viewAllBy));
+        });
+    }
+
+    // Set while a page object records a navigation, so the WebDriver.get inside it is not recorded twice
+    private static final ThreadLocal<Boolean> NAVIGATING = new ThreadLocal<>();
 
-        actions.moveToElement(saleMenu).perform();
-        webDriver.findElement(viewAllSaleBy).click();
+    /**
+     * True while a page-object navigation is being recorded on this thread.
+     */
+    public static boolean isNavigating() {
+        return NAVIGATING.get() != null;
+    }
+
+    // Records the whole navigation as one event, committed even when it fails so slow failures show up too
+    private void navigate(String action, Runnable navigation) {
+        var event = new FlightEvents.Navigation();
+        event.begin();
+        NAVIGATING.set(Boolean.TRUE);
+        boolean failed = true;
+        try {
+            navigation.run();
+            failed = false;
+        } finally {
+            NAVIGATING.remove();
+            commit(event, action, failed);
+        }
+    }
+
+    // Ends the event first, so the URL lookup is not part of the navigation's duration
+    private void commit(FlightEvents.Navigation event, String action, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.failed = failed;
+            try {
+                event.url = webDriver.getCurrentUrl();
+            } catch (WebDriverException e) {
+                // the session is gone; keep the event without its URL rather than hide the failure
+            }
+            event.commit();
+        }
     }
 
     // ===== Privacy consent =====
 
+    /**
+     * Accept the privacy prompt if it is shown. Returns immediately when the session already
+     * carries the consent cookies (see {@link ConsentCookies}).
+     */
     public boolean tryAcceptConsent() {
+        if (ConsentCookies.isRecorded(webDriver)) {
+            return false;
+        }
+
         var wait = new WebDriverWait(webDriver, Duration.ofSeconds(3));
 
         try {
-            var privacyPrompt = webDriver.findElement(privacyPromptBy);
+            // Injected later by the async consent script, so a zero-wait probe right after a load misses it
+            waitFor(PageCondition.present(".privacy_prompt"), Duration.ofSeconds(3));
+            WebElement privacyPrompt = webDriver.findElement(privacyPromptBy);
             wait.until(_ -> privacyPrompt.isDisplayed());
 
+            Set<Cookie> before = webDriver.manage().getCookies();
             webDriver.findElement(privacyPromptOptInBy).click();
             webDriver.findElement(privacyPromptSubmitBy).click();
 
             new WebDriverWait(webDriver, Duration.ofSeconds(3))
                     .until(_ -> !privacyPrompt.isDisplayed());
 
+            ConsentCookies.learn(webDriver, before);
             return true;
         } catch (TimeoutException | org.openqa.selenium.NoSuchElementException e) {
             return false;
@@ -150,11 +338,7 @@ public abstract class BasePage {
     // ===== Success message =====
 
     public boolean isSuccessMessageDisplayed() {
-        try {
-            return webDriver.findElement(successMessageBy).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return probe(successMessageBy).map(WebElement::isDisplayed).orElse(false);
     }
 
     // ===== Logout (slowed down) =====
@@ -164,6 +348,298 @@ public abstract class BasePage {
         slowClick(logoutAnchorBy, 300);
     }
 
+    // ===== Presence probes =====
+
+    /**
+     * First element matching {@code locator}, looked up without waiting. Use this for
+     * negative checks, which would otherwise block for the full implicit wait.
+     */
+    public Optional<WebElement> probe(By locator) {
+        return findAllNow(null, locator).stream().findFirst();
+    }
+
+    public boolean isPresent(By locator) {
+        return probe(locator).isPresent();
+    }
+
+    public boolean isAbsent(By locator) {
+        return probe(locator).isEmpty();
+    }
+
+    /**
+     * All matches of {@code locator} (inside {@code root} if given), without waiting.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> findAllNow(@Nullable WebElement root, By locator) {
+        if (locator instanceof By.Remotable remotable && webDriver instanceof JavascriptExecutor js) {
+            By.Remotable.Parameters params = remotable.getRemoteParameters();
+            Object found = js.executeScript(PROBE_SCRIPT, root, params.using(), String.valueOf(params.value()));
+            if (found != null) {
+                return (List<WebElement>) found;
+            }
+        }
+
+        // Strategy the page cannot evaluate (e.g. link text): switch the implicit wait off around the lookup
+        var timeouts = webDriver.manage().timeouts();
+        Duration implicitWait = timeouts.getImplicitWaitTimeout();
+        timeouts.implicitlyWait(Duration.ZERO);
+        try {
+            return root != null ? root.findElements(locator) : webDriver.findElements(locator);
+        } finally {
+            timeouts.implicitlyWait(implicitWait);
+        }
+    }
+
+    /**
+     * First visible element matched by any candidate of {@code locator}, resolved in a single
+     * browser call without waiting. The matching selector is counted in {@link LocatorStats}.
+     */
+    public Optional<WebElement> findFirstVisible(CandidateLocator locator) {
+        return findFirstVisible(null, locator);
+    }
+
+    protected Optional<WebElement> findFirstVisible(@Nullable WebElement root, CandidateLocator locator) {
+        List<String> selectors = locator.orderedSelectors();
+        var match = (List<?>) ((JavascriptExecutor) webDriver).executeScript(FIRST_VISIBLE_SCRIPT, root, selectors);
+        if (match == null) {
+            return Optional.empty();
+        }
+
+        String selector = selectors.get(((Number) match.get(0)).intValue());
+        LocatorStats.recordHit(locator.getName(), selector);
+        return Optional.of((WebElement) match.get(1));
+    }
+
+    // ===== Computed styles =====
+
+    /**
+     * Evaluate all expectations against every matching element in one browser call and
+     * return every violation found (empty when all hold). An expectation that matches
+     * no element at all is reported as a violation too.
+     */
+    @SuppressWarnings("unchecked")
+    public List<StyleViolation> checkStyles(StyleExpectation... expectations) {
+        List<Map<String, Object>> request = new ArrayList<>();
+        for (StyleExpectation expectation : expectations) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("scope", expectation.getScopeSelector());
+            entry.put("selector", expectation.getSelector());
+            entry.put("properties", List.copyOf(expectation.getProperties()));
+            request.add(entry);
+        }
+
+        var results = (List<Map<String, Object>>) ((JavascriptExecutor) webDriver)
+                .executeScript(COMPUTED_STYLES_SCRIPT, request);
+
+        List<StyleViolation> violations = new ArrayList<>();
+        for (int i = 0; i < expectations.length; i++) {
+            StyleExpectation expectation = expectations[i];
+            int scopeCount = ((Number) results.get(i).get("scopes")).intValue();
+            var elements = (List<Map<String, Object>>) results.get(i).get("found");
+
+            if (elements.isEmpty()) {
+                violations.add(new StyleViolation(expectation.toString(), -1, "", "(match)", "at least one element", "none"));
+            } else if (expectation.isInEveryScope()) {
+                Set<Integer> matchedScopes = new HashSet<>();
+                elements.forEach(element -> matchedScopes.add(((Number) element.get("scope")).intValue()));
+                for (int scope = 0; scope < scopeCount; scope++) {
+                    if (!matchedScopes.contains(scope)) {
+                        violations.add(new StyleViolation(expectation.toString(), scope, "", "(match)", "an element", "none"));
+                    }
+                }
+            }
+            for (Map<String, Object> element : elements) {
+                int scope = ((Number) element.get("scope")).intValue();
+                String text = (String) element.get("text");
+                var values = (Map<String, String>) element.get("values");
+
+                if (expectation.isMustBeVisible() && !Boolean.TRUE.equals(element.get("visible"))) {
+                    violations.add(new StyleViolation(expectation.toString(), scope, text, "(visibility)", "visible", "hidden"));
+                }
+                for (StyleExpectation.PropertyCheck check : expectation.getChecks()) {
+                    String actual = values.get(check.property());
+                    if (actual == null || !check.test().test(actual)) {
+                        violations.add(new StyleViolation(
+                                expectation.toString(), scope, text, check.property(), check.expected(), String.valueOf(actual)));
+                    }
+                }
+            }
+        }
+        return violations;
+    }
+
+    // ===== Forced hover =====
+
+    /**
+     * Run {@code action} while every element matching {@code cssSelector} is in the {@code :hover} state.
+     *
+     * <p>On Chromium the state is forced through DevTools ({@code CSS.forcePseudoState}), so no
+     * mouse movement is involved and any number of elements can be hovered at once. Other drivers
+     * fall back to moving the pointer onto the first match with {@link Actions}.
+     */
+    public <T> T whileHovered(String cssSelector, Supplier<T> action) {
+        if (!(webDriver instanceof HasCdp cdp)) {
+            new Actions(webDriver).moveToElement(webDriver.findElement(By.cssSelector(cssSelector))).perform();
+            return action.get();
+        }
+
+        cdp.executeCdpCommand("DOM.enable", Map.of());
+        cdp.executeCdpCommand("CSS.enable", Map.of());
+        Object rootId = ((Map<?, ?>) cdp.executeCdpCommand("DOM.getDocument", Map.of("depth", 0)).get("root")).get("nodeId");
+        var nodeIds = (List<?>) cdp.executeCdpCommand(
+                "DOM.querySelectorAll", Map.of("nodeId", rootId, "selector", cssSelector)).get("nodeIds");
+
+        nodeIds.forEach(nodeId -> cdp.executeCdpCommand(
+                "CSS.forcePseudoState", Map.of("nodeId", nodeId, "forcedPseudoClasses", List.of("hover"))));
+        try {
+            return action.get();
+        } finally {
+            nodeIds.forEach(nodeId -> cdp.executeCdpCommand(
+                    "CSS.forcePseudoState", Map.of("nodeId", nodeId, "forcedPseudoClasses", List.of())));
+        }
+    }
+
+    /**
+     * Computed values of {@code properties} while {@code element} is hovered.
+     */
+    public Map<String, String> readHoverStyle(WebElement element, String... properties) {
+        var js = (JavascriptExecutor) webDriver;
+        String token = Long.toString(HOVER_PROBE_SEQUENCE.incrementAndGet());
+        js.executeScript("arguments[0].setAttribute('data-hover-probe', arguments[1]);", element, token);
+        try {
+            return whileHovered("[data-hover-probe='" + token + "']", () -> {
+                Map<String, String> values = new LinkedHashMap<>();
+                for (String property : properties) {
+                    values.put(property, element.getCssValue(property));
+                }
+                return values;
+            });
+        } finally {
+            js.executeScript("arguments[0].removeAttribute('data-hover-probe');", element);
+        }
+    }
+
+    // ===== Waits =====
+
+    public <T> T waitFor(PageCondition<T> condition) {
+        return waitFor(condition, DEFAULT_WAIT);
+    }
+
+    /**
+     * Poll {@code condition} with exponential backoff until it holds, and return its value.
+     * Returns as soon as the condition is met; the time actually waited goes to {@link WaitStats},
+     * to a "wait" span and to a {@link FlightEvents.Wait} event.
+     */
+    public <T> T waitFor(PageCondition<T> condition, Duration timeout) {
+        var event = new FlightEvents.Wait();
+        event.begin();
+        boolean satisfied = false;
+        try (Span span = Spans.open("wait " + condition.getName())) {
+            try {
+                T value = poll(condition, timeout);
+                satisfied = true;
+                return value;
+            } catch (TimeoutException e) {
+                span.fail(e.getMessage());
+                throw e;
+            }
+        } finally {
+            if (event.shouldCommit()) {
+                event.condition = condition.getName();
+                event.timeout = timeout.toMillis();
+                event.satisfied = satisfied;
+                event.commit();
+            }
+        }
+    }
+
+    private <T> T poll(PageCondition<T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.evaluate(webDriver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    recordWait(condition, start, timeout, true);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // not there yet, keep polling
+                lastError = e;
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                recordWait(condition, start, timeout, false);
+                throw new TimeoutException(
+                        "Timed out after " + timeout.toMillis() + " ms waiting for " + condition.getName(),
+                        lastError
+                );
+            }
+
+            try {
+                Thread.sleep(Math.min(pollMillis, Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos))));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + condition.getName(), e);
+            }
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Wait until the page that {@code fromPage} belongs to has been replaced and the new one has
+     * loaded, then record the new page's {@link PageTimings}.
+     */
+    public void waitForNavigationFrom(WebElement fromPage) {
+        waitFor(PageCondition.detached(fromPage));
+        waitFor(PageCondition.documentReady());
+        collectTimings();
+    }
+
+    // Only when collecting, since readiness usually comes well before the load event; read after
+    // it so the load metric is there to be judged. A waterfall also waits for the late requests
+    // (lazy images, async tags, XHR), which are the slow ones it is meant to show.
+    private void collectTimings() {
+        if (!PageTimings.isEnabled()) {
+            return;
+        }
+        waitFor(PageCondition.documentReady());
+        if (PageTimings.isWaterfallEnabled()) {
+            waitForQuiet();
+        }
+        PageTimings.collect(webDriver);
+    }
+
+    /**
+     * Wait until no request is in flight and the DOM has stopped changing for {@link #QUIET_WINDOW}
+     * ({@code page.quietWindow.ms}). The standard completion signal after a state-changing action.
+     */
+    public void waitForQuiet() {
+        waitForQuiet(QUIET_WINDOW);
+    }
+
+    public void waitForQuiet(Duration quietWindow) {
+        waitFor(PageCondition.networkIdle());
+        waitFor(PageCondition.domSettled(quietWindow));
+    }
+
+    /**
+     * Click {@code link} and wait until the next page has replaced this one.
+     */
+    protected void clickAndWaitForNavigation(WebElement link) {
+        link.click();
+        waitForNavigationFrom(link);
+    }
+
+    private static void recordWait(PageCondition<?> condition, long startNanos, Duration timeout, boolean satisfied) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        WaitStats.record(new WaitStats.Sample(condition.getName(), elapsed, timeout, satisfied));
+    }
+
     // ===== Utils =====
 
     public Optional<String> getTitle() {
@@ -0,0 +1,43 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Several CSS selectors for the same element, for markup that differs between pages or
+ * themes. All candidates are tried in one browser call by {@link BasePage#findFirstVisible},
+ * and the selector that usually matches is tried first (see {@link LocatorStats}).
+ */
+public final class CandidateLocator {
+
+    private final String name;
+    private final List<String> cssSelectors;
+
+    public CandidateLocator(String name, String... cssSelectors) {
+        Validate.notBlank(name, "name is required");
+        Validate.notEmpty(cssSelectors, "at least one selector is required");
+        this.name = name;
+        this.cssSelectors = List.of(cssSelectors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getCssSelectors() {
+        return cssSelectors;
+    }
+
+    /**
+     * Candidates ordered by how often they matched before, most frequent first.
+     */
+    List<String> orderedSelectors() {
+        return LocatorStats.order(name, cssSelectors);
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + cssSelectors;
+    }
+}
@@ -13,13 +13,22 @@ public class CartPage extends BasePage {
     private static final By cartRowsBy =
             By.cssSelector("table#shopping-cart-table tbody tr");
 
-    // Try multiple selectors for grand total
-    private static final By grandTotalBy1 =
-            By.cssSelector("#shopping-cart-totals-table tfoot tr.last td.a-right span.price");
-    private static final By grandTotalBy2 =
-            By.cssSelector("#shopping-cart-totals-table tfoot tr td:nth-child(2) span.price");
-    private static final By grandTotalBy3 =
-            By.cssSelector("#shopping-cart-totals-table tfoot .price");
+    // Multiple selectors for grand total, resolved in one browser call
+    private static final CandidateLocator grandTotalLocator = new CandidateLocator(
+            "cart grand total",
+            "#shopping-cart-totals-table tfoot tr.last td.a-right span.price",
+            "#shopping-cart-totals-table tfoot tr td:nth-child(2) span.price",
+            "#shopping-cart-totals-table tfoot .price"
+    );
+
+    // Delete button inside a cart row
+    private static final CandidateLocator deleteButtonLocator = new CandidateLocator(
+            "cart row delete button",
+            "a.btn-remove",
+            "a.btn-remove2",
+            "a[title='Remove item']",
+            "td.product-cart-remove a"
+    );
 
     // Empty cart message
     private static final By emptyCartMessageBy =
@@ -58,25 +67,13 @@ public class CartPage extends BasePage {
      * Get grand total from cart
      */
     public double getGrandTotal() {
-        // Try multiple selectors until one works
-        By[] selectors = {grandTotalBy1, grandTotalBy2, grandTotalBy3};
-
-        for (By selector : selectors) {
-            try {
-                WebElement element = webDriver.findElement(selector);
-                if (element.isDisplayed()) {
-                    String txt = element.getText();
-                    System.out.println("Found Grand Total with selector: " + selector + " = " + txt);
-                    return parsePrice(txt);
-                }
-            } catch (Exception e) {
-                // Try next selector
-                System.out.println("Selector " + selector + " didn't work, trying next...");
-            }
-        }
+        String txt = findFirstVisible(grandTotalLocator)
+                .map(WebElement::getText)
+                .orElseThrow(() -> new RuntimeException(
+                        "Could not find Grand Total element with any of the predefined selectors"));
 
-        // If none of the specific selectors work, throw error
-        throw new RuntimeException("Could not find Grand Total element with any of the predefined selectors");
+        System.out.println("Found Grand Total = " + txt);
+        return parsePrice(txt);
     }
 
     /**
@@ -95,13 +92,7 @@ public class CartPage extends BasePage {
         WebElement row = rows.get(rowIndex);
         js.executeScript("arguments[0].scrollIntoView({block: 'center'});", row);
 
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        WebElement qtyInput = row.findElement(By.cssSelector("input.qty"));
+        WebElement qtyInput = waitFor(PageCondition.clickable(row.findElement(By.cssSelector("input.qty"))));
         qtyInput.clear();
         qtyInput.sendKeys(String.valueOf(qty));
 
@@ -124,30 +115,29 @@ public class CartPage extends BasePage {
         WebElement updateButton = row.findElement(By.cssSelector("button[title='Update']"));
 
         js.executeScript("arguments[0].scrollIntoView({block: 'center'});", updateButton);
-
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitFor(PageCondition.clickable(updateButton));
 
         js.executeScript("arguments[0].click();", updateButton);
 
         System.out.println("Clicked Update for cart row " + rowIndex);
 
-        // Wait for cart to update
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Update submits the cart form, wait for the reloaded cart
+        waitForNavigationFrom(updateButton);
+        waitForQuiet();
+    }
+
+    /**
+     * Holds once the number of cart rows differs from {@code previousCount}
+     */
+    public PageCondition<Integer> rowCountChangedFrom(int previousCount) {
+        return PageCondition.countChanged("cart row count", this::getCartItemCount, previousCount);
     }
 
     /**
-     * Get the number of items in cart
+     * Get the number of items in cart (zero-wait, an empty cart returns immediately)
      */
     public int getCartItemCount() {
-        return getCartRows().size();
+        return findAllNow(null, cartRowsBy).size();
     }
 
     /**
@@ -164,48 +154,20 @@ public class CartPage extends BasePage {
 
         WebElement row = rows.get(rowIndex);
         js.executeScript("arguments[0].scrollIntoView({block: 'center'});", row);
+        waitFor(PageCondition.visible(row));
 
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Find the delete button - try multiple selectors
-        WebElement deleteButton = null;
-        String[] deleteSelectors = {
-                "a.btn-remove",
-                "a.btn-remove2",
-                "a[title='Remove item']",
-                "td.product-cart-remove a"
-        };
-
-        for (String selector : deleteSelectors) {
-            try {
-                deleteButton = row.findElement(By.cssSelector(selector));
-                if (deleteButton != null && deleteButton.isDisplayed()) {
-                    System.out.println("Found delete button with selector: " + selector);
-                    break;
-                }
-            } catch (Exception e) {
-                // Try next selector
-            }
-        }
-
-        if (deleteButton == null) {
-            throw new RuntimeException("Could not find delete button for cart row " + rowIndex);
-        }
+        // Find the delete button - all candidate selectors in one call
+        WebElement deleteButton = findFirstVisible(row, deleteButtonLocator)
+                .orElseThrow(() -> new RuntimeException("Could not find delete button for cart row " + rowIndex));
 
         js.executeScript("arguments[0].click();", deleteButton);
 
         System.out.println("Clicked delete for cart row " + rowIndex);
 
-        // Wait for cart to update after deletion
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Wait for the cart to reload with one row less
+        waitForNavigationFrom(deleteButton);
+        waitFor(rowCountChangedFrom(rows.size()));
+        waitForQuiet();
     }
 
     /**
@@ -219,26 +181,16 @@ public class CartPage extends BasePage {
      * Check if the cart is empty
      */
     public boolean isCartEmpty() {
-        try {
-            WebElement emptyMessage = webDriver.findElement(emptyCartMessageBy);
-            return emptyMessage.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return probe(emptyCartMessageBy).map(WebElement::isDisplayed).orElse(false);
     }
 
     /**
      * Get the empty cart message text
      */
     public String getEmptyCartMessage() {
-        try {
-            WebElement emptyMessage = webDriver.findElement(emptyCartMessageBy);
-            if (emptyMessage.isDisplayed()) {
-                return emptyMessage.getText();
-            }
-        } catch (Exception e) {
-            // Message not found
-        }
-        return "";
+        return probe(emptyCartMessageBy)
+                .filter(WebElement::isDisplayed)
+                .map(WebElement::getText)
+                .orElse("");
     }
 }
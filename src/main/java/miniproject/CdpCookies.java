@@ -0,0 +1,34 @@
+package miniproject;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sets cookies through DevTools, which works before the first navigation to the cookie's domain.
+ */
+final class CdpCookies {
+
+    private CdpCookies() {
+        // utility
+    }
+
+    static void set(HasCdp cdp, Cookie cookie) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        params.put("domain", cookie.getDomain());
+        params.put("path", cookie.getPath());
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        if (cookie.getSameSite() != null) {
+            params.put("sameSite", cookie.getSameSite());
+        }
+        cdp.executeCdpCommand("Network.setCookie", params);
+    }
+}
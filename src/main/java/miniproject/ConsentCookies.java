@@ -0,0 +1,107 @@
+package miniproject;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The cookies the site sets when the privacy prompt is accepted, so new sessions can start
+ * with consent already recorded and the prompt never renders.
+ *
+ * <p>The first real acceptance records the consent cookies it set; the test harness keeps them
+ * for later runs through {@link #known()} and {@link #remember(List)}. Only cookies named in
+ * {@code consent.cookies.names} (comma-separated, default {@code CONSENTMGR}, the Tealium
+ * consent manager's cookie) count: analytics and tag cookies set at the same moment are not
+ * consent and must not be replayed into every session.
+ */
+public final class ConsentCookies {
+
+    private static final Set<String> NAMES = Arrays.stream(System.getProperty("consent.cookies.names", "CONSENTMGR").split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static volatile List<Cookie> known = List.of();
+
+    private ConsentCookies() {
+        // utility
+    }
+
+    /**
+     * Set the known consent cookies on a session, before or after its first navigation.
+     * Returns false when nothing is known yet or the driver cannot set cookies off-domain.
+     */
+    public static boolean seed(WebDriver webDriver) {
+        List<Cookie> cookies = known;
+        if (cookies.isEmpty() || !(webDriver instanceof HasCdp cdp)) {
+            return false;
+        }
+        try {
+            cookies.forEach(cookie -> CdpCookies.set(cdp, cookie));
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("Could not seed consent cookies: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * True when the browser already carries every known consent cookie.
+     */
+    static boolean isRecorded(WebDriver webDriver) {
+        List<Cookie> cookies = known;
+        if (cookies.isEmpty()) {
+            return false;
+        }
+        Set<String> present = webDriver.manage().getCookies().stream()
+                .map(Cookie::getName)
+                .collect(Collectors.toSet());
+        return cookies.stream().map(Cookie::getName).allMatch(present::contains);
+    }
+
+    /**
+     * Remember the consent cookies that appeared since {@code before}, i.e. the ones the
+     * consent script set.
+     */
+    static synchronized void learn(WebDriver webDriver, Set<Cookie> before) {
+        if (!known.isEmpty()) {
+            return;
+        }
+        Set<String> previous = before.stream().map(Cookie::getName).collect(Collectors.toSet());
+        List<Cookie> added = webDriver.manage().getCookies().stream()
+                .filter(cookie -> !previous.contains(cookie.getName()))
+                .filter(ConsentCookies::isConsentCookie)
+                .toList();
+        if (added.isEmpty()) {
+            return;
+        }
+        known = added;
+        System.out.println("Learned consent cookies: "
+                + added.stream().map(Cookie::getName).collect(Collectors.joining(", ")));
+    }
+
+    private static boolean isConsentCookie(Cookie cookie) {
+        return NAMES.contains(cookie.getName());
+    }
+
+    /**
+     * The consent cookies known so far, learned or remembered.
+     */
+    public static List<Cookie> known() {
+        return known;
+    }
+
+    /**
+     * Start from {@code cookies} kept by an earlier run; cookies not named in
+     * {@code consent.cookies.names} are ignored.
+     */
+    public static void remember(List<Cookie> cookies) {
+        known = cookies.stream().filter(ConsentCookies::isConsentCookie).toList();
+    }
+}
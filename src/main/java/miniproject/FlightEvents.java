@@ -0,0 +1,101 @@
+package miniproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for page-object activity, so a recording of the test JVM shows
+ * which navigation, wait, click or script was running next to GC, thread and I/O events.
+ *
+ * <p>Emitted by {@link BasePage} and by the test driver's listener. Nothing is recorded unless
+ * a recording is running; callers only fill in fields after {@code shouldCommit()}.
+ */
+public final class FlightEvents {
+
+    private static final String CATEGORY = "Miniproject";
+
+    private FlightEvents() {
+        // utility
+    }
+
+    @Name("miniproject.Navigation")
+    @Label("Navigation")
+    @Description("Page load started by a page object or by WebDriver.get")
+    @Category({CATEGORY, "Navigation"})
+    @StackTrace(false)
+    public static final class Navigation extends Event {
+
+        @Label("Action")
+        public String action;
+
+        @Label("URL")
+        public String url;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("miniproject.Wait")
+    @Label("Wait")
+    @Description("BasePage.waitFor polling a condition")
+    @Category({CATEGORY, "Wait"})
+    @StackTrace(false)
+    public static final class Wait extends Event {
+
+        @Label("Condition")
+        public String condition;
+
+        @Label("Timeout")
+        @Timespan(Timespan.MILLISECONDS)
+        public long timeout;
+
+        @Label("Satisfied")
+        public boolean satisfied;
+    }
+
+    @Name("miniproject.Click")
+    @Label("Click")
+    @Description("WebElement.click")
+    @Category({CATEGORY, "WebDriver"})
+    @StackTrace(false)
+    public static final class Click extends Event {
+
+        @Label("Element")
+        public String element;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("miniproject.Script")
+    @Label("Script")
+    @Description("JavascriptExecutor.executeScript")
+    @Category({CATEGORY, "WebDriver"})
+    @StackTrace(false)
+    public static final class Script extends Event {
+
+        @Label("Script")
+        public String script;
+
+        @Label("Arguments")
+        public int arguments;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    /**
+     * First line of {@code script}, cut to 200 characters, to keep events small.
+     */
+    public static String abbreviate(String script) {
+        String trimmed = script.strip();
+        int newline = trimmed.indexOf('\n');
+        String firstLine = newline >= 0 ? trimmed.substring(0, newline) + " ..." : trimmed;
+        return firstLine.length() > 200 ? firstLine.substring(0, 200) + "..." : firstLine;
+    }
+}
@@ -0,0 +1,121 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the URL of a filtered and sorted category listing, so a test can reach it with one
+ * {@code get} instead of hovering menus and clicking filters.
+ *
+ * <pre>{@code
+ * page.open(ListingUrl.of(PageType.MEN).price(0, 100).sortBy(ListingUrl.SortOrder.PRICE, ListingUrl.Direction.ASC));
+ * }</pre>
+ *
+ * <p>Layered-navigation options are addressed by their option id; read them from a listing
+ * with {@link BasePage#getFilterOptions(String)}.
+ */
+public final class ListingUrl {
+
+    public enum SortOrder {
+        POSITION("position"),
+        NAME("name"),
+        PRICE("price");
+
+        private final String parameter;
+
+        SortOrder(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+
+    public enum Direction {
+        ASC("asc"),
+        DESC("desc");
+
+        private final String parameter;
+
+        Direction(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+
+    private final PageType route;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+
+    private ListingUrl(PageType route) {
+        this.route = route;
+    }
+
+    public static ListingUrl of(PageType route) {
+        Validate.notNull(route, "route is required");
+        Validate.isTrue(route.isListing(), "%s is not a category listing", route);
+        return new ListingUrl(route);
+    }
+
+    public PageType getRoute() {
+        return route;
+    }
+
+    /**
+     * Layered-navigation filter, e.g. {@code filter("color", "20")}.
+     */
+    public ListingUrl filter(String attributeCode, String optionId) {
+        Validate.notBlank(attributeCode, "attributeCode is required");
+        Validate.notBlank(optionId, "optionId is required");
+        parameters.put(attributeCode, optionId);
+        return this;
+    }
+
+    public ListingUrl color(String optionId) {
+        return filter("color", optionId);
+    }
+
+    /**
+     * Price range filter; {@code price(0, 100)} is the "$0.00 - $99.99" bucket.
+     */
+    public ListingUrl price(int from, int to) {
+        Validate.isTrue(from >= 0 && to > from, "invalid price range %d-%d", from, to);
+        parameters.put("price", from + "-" + to);
+        return this;
+    }
+
+    public ListingUrl sortBy(SortOrder order, Direction direction) {
+        Validate.notNull(order, "order is required");
+        Validate.notNull(direction, "direction is required");
+        parameters.put("order", order.parameter);
+        parameters.put("dir", direction.parameter);
+        return this;
+    }
+
+    /**
+     * Products per page; the storefront accepts 12, 24, 36 (grid mode).
+     */
+    public ListingUrl limit(int limit) {
+        Validate.isTrue(limit > 0, "limit must be positive");
+        parameters.put("limit", Integer.toString(limit));
+        return this;
+    }
+
+    public String build() {
+        if (parameters.isEmpty()) {
+            return route.getUrl();
+        }
+        return route.getUrl() + "?" + parameters.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    @Override
+    public String toString() {
+        return build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
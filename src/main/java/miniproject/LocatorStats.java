@@ -0,0 +1,56 @@
+package miniproject;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit counts per {@link CandidateLocator} selector; the test harness keeps them across runs
+ * through {@link #remember(Map)} and {@link #snapshot()}.
+ */
+final class LocatorStats {
+
+    private static final Map<String, AtomicLong> HITS = new ConcurrentHashMap<>();
+
+    private LocatorStats() {
+        // utility
+    }
+
+    static List<String> order(String locatorName, List<String> selectors) {
+        // sorted() is stable on a list stream, so ties keep their declared order
+        return selectors.stream()
+                .sorted(Comparator.comparingLong((String selector) -> hits(locatorName, selector)).reversed())
+                .toList();
+    }
+
+    static void recordHit(String locatorName, String selector) {
+        HITS.computeIfAbsent(key(locatorName, selector), _ -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Add counts kept by an earlier run, keyed {@code "locatorName | selector"}.
+     */
+    static void remember(Map<String, Long> hits) {
+        hits.forEach((key, count) -> HITS.computeIfAbsent(key, _ -> new AtomicLong()).addAndGet(count));
+    }
+
+    /**
+     * The current counts, keyed {@code "locatorName | selector"}.
+     */
+    static Map<String, Long> snapshot() {
+        Map<String, Long> hits = new ConcurrentHashMap<>();
+        HITS.forEach((key, count) -> hits.put(key, count.get()));
+        return hits;
+    }
+
+    private static long hits(String locatorName, String selector) {
+        AtomicLong hits = HITS.get(key(locatorName, selector));
+        return hits != null ? hits.get() : 0;
+    }
+
+    private static String key(String locatorName, String selector) {
+        return locatorName + " | " + selector;
+    }
+}
@@ -2,6 +2,7 @@ package miniproject;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -43,13 +44,13 @@ public class LoginPage extends BasePage {
         // Click using JavaScript to avoid interception issues
         ((org.openqa.selenium.JavascriptExecutor) webDriver)
                 .executeScript("arguments[0].click();", loginButton);
+
+        // A JS click does not block on the page load, so later zero-wait probes would race it
+        waitForNavigationFrom(loginButton);
+        waitForQuiet();
     }
 
     public String getWelcomeMessageText() {
-        try {
-            return webDriver.findElement(welcomeMessageBy).getText();
-        } catch (Exception e) {
-            return "";
-        }
+        return probe(welcomeMessageBy).map(WebElement::getText).orElse("");
     }
 }
@@ -9,10 +9,7 @@ import java.util.List;
 public class MenPage extends BasePage {
 
     // All product <li> items on Men page
-    private static final By productContainerBy = By.cssSelector(
-            "body > div.wrapper > div > div.main-container.col3-layout > div > " +
-                    "div.col-wrapper > div.col-main > div.category-products > ul > li"
-    );
+    private static final By productContainerBy = By.cssSelector(ProductGrid.CATEGORY_PRODUCTS_CSS);
 
     // Black color swatch in Shopping Options
     private static final By blackColorFilterBy = By.cssSelector(
@@ -26,11 +23,6 @@ public class MenPage extends BasePage {
                     "div.block-content.toggle-content > div.currently > ol > li > a"
     );
 
-    // Price range first option ($0.00 - $99.99)
-    private static final By firstPriceFilterBy = By.cssSelector(
-            "#narrow-by-list > dd:nth-child(4) > ol > li:nth-child(1) > a"
-    );
-
     // “3 Item(s)” text in pager
     private static final By itemsCountTextBy = By.cssSelector(
             "body > div.wrapper > div > div.main-container.col3-layout > div > " +
@@ -38,14 +30,24 @@ public class MenPage extends BasePage {
                     "div.pager > div > p"
     );
 
+    private final ProductGrid productGrid;
+
     public MenPage(WebDriver webDriver) {
         super(webDriver);
+        this.productGrid = new ProductGrid(webDriver, ProductGrid.CATEGORY_PRODUCTS_CSS);
     }
 
     public List<WebElement> getAllProducts() {
         return webDriver.findElements(productContainerBy);
     }
 
+    /**
+     * Every product of the grid, read in one browser call
+     */
+    public List<ProductTile> getProductTiles() {
+        return productGrid.snapshot();
+    }
+
     public WebElement getBlackColorFilter() {
         return webDriver.findElement(blackColorFilterBy);
     }
@@ -54,30 +56,7 @@ public class MenPage extends BasePage {
         return webDriver.findElement(clearFilterBy);
     }
 
-    public WebElement getFirstPriceFilter() {
-        return webDriver.findElement(firstPriceFilterBy);
-    }
-
     public WebElement getItemsCountText() {
         return webDriver.findElement(itemsCountTextBy);
     }
-
-    /**
-     * Black swatch img for a given product
-     * li.option-black.is-media.filter-match.selected > a > span > img
-     */
-    public WebElement getBlackSwatchForProduct(WebElement product) {
-        By blackSwatchImgBy = By.cssSelector(
-                "div > ul > li.option-black.is-media.filter-match.selected > a > span > img"
-        );
-        return product.findElement(blackSwatchImgBy);
-    }
-
-    /**
-     * Price span inside a product
-     */
-    public WebElement getPriceElement(WebElement product) {
-        By priceSpanBy = By.cssSelector("span.price");
-        return product.findElement(priceSpanBy);
-    }
 }
@@ -31,8 +31,9 @@ public class MyWishlistPage extends BasePage {
     }
 
     public void clickAddAllToCart() {
-        // small wait so wishlist table is ready
-        slowClick(addAllToCartButtonBy, 500);
+        WebElement addAllButton = waitFor(PageCondition.clickable(addAllToCartButtonBy));
+        clickAndWaitForNavigation(addAllButton);
+        waitForQuiet();
     }
 
     /**
@@ -57,24 +58,14 @@ public class MyWishlistPage extends BasePage {
         WebElement item = items.get(index);
         js.executeScript("arguments[0].scrollIntoView({block: 'center'});", item);
 
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
         // Find the "Edit" link within this row
-        WebElement editLink = item.findElement(By.cssSelector("a.link-edit"));
+        WebElement editLink = waitFor(PageCondition.clickable(item.findElement(By.cssSelector("a.link-edit"))));
         js.executeScript("arguments[0].click();", editLink);
 
         System.out.println("Clicked Edit for wishlist item " + index);
 
         // Wait for product detail page to load
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitForNavigationFrom(editLink);
     }
 
     /**
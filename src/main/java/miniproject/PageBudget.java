@@ -0,0 +1,84 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Upper limits for the {@link PageMetric}s of one {@link PageType}. Metrics without a limit are
+ * collected but not judged.
+ *
+ * <pre>{@code
+ * PageBudget.none().limit(PageMetric.TTFB, 800).limit(PageMetric.LARGEST_CONTENTFUL_PAINT, 4000)
+ * }</pre>
+ *
+ * A limit can be set or changed per run with {@code perf.budget.<PAGE_TYPE>.<metric key>},
+ * e.g. {@code -Dperf.budget.WOMEN.lcp=2500}.
+ */
+public final class PageBudget {
+
+    /**
+     * What a test does when a navigation goes over budget; set with {@code perf.budgets}, off by default.
+     */
+    public enum Mode {
+        /** Nothing is collected */
+        OFF,
+        /** Overruns are printed */
+        WARN,
+        /** Overruns fail the test once it has finished */
+        FAIL;
+
+        public static Mode fromSystemProperties() {
+            return Mode.valueOf(System.getProperty("perf.budgets", "off").toUpperCase());
+        }
+    }
+
+    private static final PageBudget NONE = new PageBudget(new EnumMap<>(PageMetric.class));
+
+    private final Map<PageMetric, Double> limits;
+
+    private PageBudget(EnumMap<PageMetric, Double> limits) {
+        this.limits = Collections.unmodifiableMap(limits);
+    }
+
+    public static PageBudget none() {
+        return NONE;
+    }
+
+    /**
+     * A copy of this budget with {@code metric} limited to {@code max}.
+     */
+    public PageBudget limit(PageMetric metric, double max) {
+        Validate.notNull(metric, "metric is required");
+        Validate.isTrue(max >= 0, "limit must not be negative: %s", max);
+        var copy = new EnumMap<PageMetric, Double>(PageMetric.class);
+        copy.putAll(limits);
+        copy.put(metric, max);
+        return new PageBudget(copy);
+    }
+
+    /**
+     * This budget with the {@code perf.budget.<route>.<metric key>} overrides applied.
+     */
+    PageBudget withOverrides(PageType route) {
+        PageBudget budget = this;
+        for (PageMetric metric : PageMetric.values()) {
+            String value = System.getProperty("perf.budget." + route.name() + "." + metric.getKey());
+            if (value != null) {
+                budget = budget.limit(metric, Double.parseDouble(value));
+            }
+        }
+        return budget;
+    }
+
+    public Map<PageMetric, Double> getLimits() {
+        return limits;
+    }
+
+    @Override
+    public String toString() {
+        return limits.toString();
+    }
+}
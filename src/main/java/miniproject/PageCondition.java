@@ -0,0 +1,201 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * A named readiness condition for {@link BasePage#waitFor(PageCondition)}.
+ *
+ * <p>The check returns {@code null} or {@code false} while the condition does not hold yet,
+ * and the value to hand back to the caller once it does.
+ */
+public final class PageCondition<T> {
+
+    private final String name;
+    private final Function<WebDriver, @Nullable T> check;
+
+    public PageCondition(String name, Function<WebDriver, @Nullable T> check) {
+        this.name = Validate.notBlank(name, "name is required");
+        this.check = Validate.notNull(check, "check is required");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Nullable T evaluate(WebDriver webDriver) {
+        return check.apply(webDriver);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // ===== Page state =====
+
+    public static PageCondition<Boolean> titleIs(PageType pageType) {
+        return new PageCondition<>(
+                "page title is '" + pageType.getTitle() + "'",
+                d -> Objects.equals(d.getTitle(), pageType.getTitle())
+        );
+    }
+
+    public static PageCondition<Boolean> documentReady() {
+        return new PageCondition<>(
+                "document ready",
+                d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState"))
+        );
+    }
+
+    // ===== Quiet page =====
+
+    // Counts the page's XHR/fetch calls from the first script on; installed before every document
+    private static final String REQUEST_TRACKER_SCRIPT = """
+            (function () {
+                var pending = window.__pendingRequests = {count: 0};
+                var send = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                    pending.count++;
+                    this.addEventListener('loadend', function () { pending.count--; });
+                    return send.apply(this, arguments);
+                };
+                if (window.fetch) {
+                    var fetch = window.fetch;
+                    window.fetch = function () {
+                        pending.count++;
+                        return fetch.apply(this, arguments).finally(function () { pending.count--; });
+                    };
+                }
+            })();
+            """;
+
+    // Reads the tracker where it was installed, next to the Prototype and jQuery counters
+    private static final String NETWORK_IDLE_SCRIPT = """
+            return document.readyState !== 'loading'
+                && (!window.__pendingRequests || window.__pendingRequests.count === 0)
+                && (typeof Ajax === 'undefined' || !Ajax.activeRequestCount)
+                && (typeof jQuery === 'undefined' || !jQuery.active);
+            """;
+
+    // Records the time of the last DOM mutation; true once none happened for arguments[0] ms
+    private static final String DOM_SETTLED_SCRIPT = """
+            if (!window.__lastMutation) {
+                window.__lastMutation = {at: performance.now()};
+                new MutationObserver(function () { window.__lastMutation.at = performance.now(); })
+                    .observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            }
+            return performance.now() - window.__lastMutation.at >= arguments[0];
+            """;
+
+    /**
+     * Count XHR and fetch calls in every document {@code webDriver} loads from now on, for
+     * {@link #networkIdle()}. The counter has to be in place before the page's own scripts run:
+     * one installed on the first poll would miss the request the click before it sent. Returns
+     * false for drivers without DevTools.
+     */
+    public static boolean installRequestTracker(WebDriver webDriver) {
+        if (!(webDriver instanceof HasCdp cdp)) {
+            return false;
+        }
+        cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", REQUEST_TRACKER_SCRIPT));
+        return true;
+    }
+
+    /**
+     * Holds while no request is in flight: the Prototype ({@code Ajax.activeRequestCount}) and
+     * jQuery ({@code jQuery.active}) counters at zero, and, on browsers set up with
+     * {@link #installRequestTracker(WebDriver)}, none of the page's XHR/fetch calls either.
+     */
+    public static PageCondition<Boolean> networkIdle() {
+        return new PageCondition<>(
+                "network idle",
+                d -> (Boolean) ((JavascriptExecutor) d).executeScript(NETWORK_IDLE_SCRIPT)
+        );
+    }
+
+    /**
+     * Holds once the DOM has not changed for {@code quietWindow}, watched by an injected MutationObserver.
+     */
+    public static PageCondition<Boolean> domSettled(Duration quietWindow) {
+        return new PageCondition<>(
+                "DOM settled for " + quietWindow.toMillis() + " ms",
+                d -> (Boolean) ((JavascriptExecutor) d).executeScript(DOM_SETTLED_SCRIPT, quietWindow.toMillis())
+        );
+    }
+
+    // ===== Elements =====
+
+    /**
+     * Holds once an element matching {@code cssSelector} is in the DOM. Checked by script,
+     * so polling never sits in the implicit wait.
+     */
+    public static PageCondition<Boolean> present(String cssSelector) {
+        return new PageCondition<>(
+                "present '" + cssSelector + "'",
+                d -> (Boolean) ((JavascriptExecutor) d).executeScript(
+                        "return document.querySelector(arguments[0]) !== null", cssSelector)
+        );
+    }
+
+    public static PageCondition<WebElement> clickable(By locator) {
+        return new PageCondition<>(
+                "clickable " + locator,
+                ExpectedConditions.elementToBeClickable(locator)
+        );
+    }
+
+    public static PageCondition<WebElement> clickable(WebElement element) {
+        return new PageCondition<>(
+                "element clickable",
+                ExpectedConditions.elementToBeClickable(element)
+        );
+    }
+
+    public static PageCondition<WebElement> visible(WebElement element) {
+        return new PageCondition<>(
+                "element visible",
+                ExpectedConditions.visibilityOf(element)
+        );
+    }
+
+    /**
+     * Holds once the element is no longer attached, i.e. the page it belonged to was replaced.
+     */
+    public static PageCondition<Boolean> detached(WebElement element) {
+        return new PageCondition<>(
+                "element detached",
+                _ -> {
+                    try {
+                        element.isEnabled();
+                        return false;
+                    } catch (StaleElementReferenceException e) {
+                        return true;
+                    }
+                }
+        );
+    }
+
+    public static PageCondition<Integer> countChanged(String name, IntSupplier counter, int previousCount) {
+        return new PageCondition<>(
+                name + " changed from " + previousCount,
+                _ -> {
+                    int count = counter.getAsInt();
+                    return count != previousCount ? count : null;
+                }
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package miniproject;
+
+/**
+ * Page-load metrics read from the browser's Performance APIs after each navigation. Times are
+ * milliseconds from the start of the navigation; layout shift is unitless.
+ */
+public enum PageMetric {
+
+    TTFB("ttfb", true),
+    DOM_CONTENT_LOADED("dcl", true),
+    LOAD("load", true),
+    FIRST_CONTENTFUL_PAINT("fcp", true),
+    LARGEST_CONTENTFUL_PAINT("lcp", true),
+    CUMULATIVE_LAYOUT_SHIFT("cls", false);
+
+    private final String key;
+    private final boolean millis;
+
+    PageMetric(String key, boolean millis) {
+        this.key = key;
+        this.millis = millis;
+    }
+
+    /**
+     * Short name used in the collection script, system properties and reports, e.g. {@code lcp}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public static PageMetric fromKey(String key) {
+        for (PageMetric metric : values()) {
+            if (metric.key.equalsIgnoreCase(key)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown page metric: " + key);
+    }
+
+    public String format(double value) {
+        return millis ? Math.round(value) + " ms" : String.format("%.3f", value);
+    }
+}
@@ -0,0 +1,239 @@
+package miniproject;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Navigation and paint timings of each page a page object navigated to, checked against the
+ * page's {@link PageBudget} and collected per thread so parallel tests keep separate records.
+ */
+public final class PageTimings {
+
+    /**
+     * One navigation. {@code values} holds only the metrics the browser reported, and
+     * {@code unchecked} the budgeted ones it did not, so their budget could not be judged.
+     * {@code resources} is empty unless the waterfall is captured, and {@code truncated} when the
+     * browser's resource-timing buffer filled up and dropped some of them.
+     */
+    public record Sample(PageType route, String url, Map<PageMetric, Double> values, Map<PageMetric, Double> overBudget,
+                         Set<PageMetric> unchecked, List<ResourceTiming> resources, boolean truncated) {
+
+        public boolean isOverBudget() {
+            return !overBudget.isEmpty();
+        }
+
+        public boolean isUnchecked() {
+            return !unchecked.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            values.forEach((metric, value) -> {
+                String part = metric.getKey() + " " + metric.format(value);
+                Double limit = overBudget.get(metric);
+                parts.add(limit != null ? part + " (budget " + metric.format(limit) + ")" : part);
+            });
+            unchecked.forEach(metric -> parts.add(metric.getKey() + " not reported"));
+            return route + " " + String.join(", ", parts);
+        }
+    }
+
+    // Raises the buffer from the browsers' default of 250 entries, which a product listing with its
+    // images and trackers can exceed, and notes when even that overflowed
+    private static final String RESOURCE_BUFFER_SCRIPT = """
+            (function () {
+                window.__resourceTimingsTruncated = false;
+                if (!window.performance || !performance.setResourceTimingBufferSize) { return; }
+                performance.setResourceTimingBufferSize(%d);
+                performance.addEventListener('resourcetimingbufferfull', function () {
+                    window.__resourceTimingsTruncated = true;
+                });
+            })();
+            """;
+
+    private static final int RESOURCE_BUFFER_SIZE = Integer.getInteger("perf.waterfall.buffer", 1000);
+
+    // Resolves with whatever the page has reported so far; callers wait for the load event first.
+    // LCP and layout shifts are only reachable through buffered observers. Resources come back
+    // as arrays in ResourceTiming's component order to keep the response small.
+    private static final String COLLECT_SCRIPT = """
+            var done = arguments[arguments.length - 1], waterfall = arguments[0];
+            var result = {}, lcp = 0, cls = 0, observers = [];
+            var types = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];
+            function onLcp(list) { list.getEntries().forEach(function (e) { lcp = Math.max(lcp, e.startTime); }); }
+            function onShift(list) { list.getEntries().forEach(function (e) { if (!e.hadRecentInput) { cls += e.value; } }); }
+            function observe(type, callback) {
+                if (types.indexOf(type) < 0) { return; }
+                var observer = new PerformanceObserver(callback);
+                observer.observe({type: type, buffered: true});
+                observers.push([observer, callback]);
+            }
+            observe('largest-contentful-paint', onLcp);
+            observe('layout-shift', onShift);
+            function finish() {
+                observers.forEach(function (o) { o[1]({getEntries: function () { return o[0].takeRecords(); }}); o[0].disconnect(); });
+                var nav = performance.getEntriesByType && performance.getEntriesByType('navigation')[0];
+                if (nav) {
+                    if (nav.responseStart > 0) { result.ttfb = nav.responseStart; }
+                    if (nav.domContentLoadedEventEnd > 0) { result.dcl = nav.domContentLoadedEventEnd; }
+                    if (nav.loadEventEnd > 0) { result.load = nav.loadEventEnd; }
+                }
+                var fcp = performance.getEntriesByName && performance.getEntriesByName('first-contentful-paint')[0];
+                if (fcp) { result.fcp = fcp.startTime; }
+                if (types.indexOf('largest-contentful-paint') >= 0 && lcp > 0) { result.lcp = lcp; }
+                if (types.indexOf('layout-shift') >= 0) { result.cls = cls; }
+                if (waterfall) {
+                    var headScripts = {};
+                    document.querySelectorAll('head script[src]').forEach(function (s) {
+                        if (!s.async && !s.defer && s.type !== 'module') { headScripts[s.src] = true; }
+                    });
+                    // Entries are never cleared: a later capture on the same document reports only
+                    // what finished since, so nothing that completes after a capture is lost
+                    var all = performance.getEntriesByType('resource');
+                    var entries = all.slice(window.__resourceTimingsReported || 0);
+                    window.__resourceTimingsReported = all.length;
+                    // Without the buffer script only a full default buffer hints at dropped entries
+                    result.truncated = window.__resourceTimingsTruncated === undefined
+                        ? all.length >= 250 : window.__resourceTimingsTruncated;
+                    result.resources = entries.map(function (e) {
+                        var blocking = e.renderBlockingStatus ? e.renderBlockingStatus === 'blocking' : !!headScripts[e.name];
+                        var responded = e.responseStart > 0;
+                        return [e.name, e.initiatorType, e.transferSize || 0, e.startTime,
+                                e.domainLookupEnd - e.domainLookupStart, e.connectEnd - e.connectStart,
+                                responded ? e.responseStart - e.requestStart : 0, responded ? e.responseEnd - e.responseStart : 0,
+                                e.duration, blocking];
+                    });
+                }
+                done(result);
+            }
+            setTimeout(finish, 0);
+            """;
+
+    private static final ThreadLocal<List<Sample>> SAMPLES = ThreadLocal.withInitial(ArrayList::new);
+
+    private PageTimings() {
+        // utility
+    }
+
+    /**
+     * True when page timings are collected at all: budgets are switched on or the waterfall is captured.
+     */
+    public static boolean isEnabled() {
+        return PageBudget.Mode.fromSystemProperties() != PageBudget.Mode.OFF || isWaterfallEnabled();
+    }
+
+    /**
+     * True when {@code perf.waterfall} asks for every navigation's resource timings.
+     */
+    public static boolean isWaterfallEnabled() {
+        return Boolean.getBoolean("perf.waterfall");
+    }
+
+    /**
+     * Enlarge the resource-timing buffer of every document {@code webDriver} opens from now on
+     * ({@code perf.waterfall.buffer}, default 1000 entries) and flag captures that still overflow.
+     * Returns {@code false} when the driver cannot add scripts to new documents.
+     */
+    public static boolean installResourceBuffer(WebDriver webDriver) {
+        if (!(webDriver instanceof HasCdp cdp)) {
+            return false;
+        }
+        cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", RESOURCE_BUFFER_SCRIPT.formatted(RESOURCE_BUFFER_SIZE)));
+        return true;
+    }
+
+    /**
+     * Read the timings of the page {@code webDriver} is on and record them, if it is one of the
+     * {@link PageType}s and budgets are switched on or the waterfall is captured. Browsers
+     * without the Performance APIs are skipped. Callers wait for the load event first, so a
+     * metric that is still missing is reported as unchecked rather than taken as a pass.
+     */
+    static void collect(WebDriver webDriver) {
+        boolean waterfall = isWaterfallEnabled();
+        if (!isEnabled() || !(webDriver instanceof JavascriptExecutor js)) {
+            return;
+        }
+        String url = webDriver.getCurrentUrl();
+        PageType route = url != null ? PageType.fromUrl(url) : null;
+        if (route == null) {
+            return;
+        }
+        List<ResourceTiming> resources = new ArrayList<>();
+        boolean[] truncated = new boolean[1];
+        Map<PageMetric, Double> values = read(js, waterfall, resources, truncated);
+        if (values.isEmpty() && resources.isEmpty()) {
+            return;
+        }
+
+        var overBudget = new EnumMap<PageMetric, Double>(PageMetric.class);
+        var unchecked = EnumSet.noneOf(PageMetric.class);
+        route.getBudget().getLimits().forEach((metric, limit) -> {
+            Double value = values.get(metric);
+            if (value == null) {
+                unchecked.add(metric);
+            } else if (value > limit) {
+                overBudget.put(metric, limit);
+            }
+        });
+        SAMPLES.get().add(new Sample(route, url, values, Collections.unmodifiableMap(overBudget),
+                Collections.unmodifiableSet(unchecked), List.copyOf(resources), truncated[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<PageMetric, Double> read(JavascriptExecutor js, boolean waterfall, List<ResourceTiming> resources,
+                                                boolean[] truncated) {
+        var values = new EnumMap<PageMetric, Double>(PageMetric.class);
+        try {
+            Object result = js.executeAsyncScript(COLLECT_SCRIPT, waterfall);
+            if (result instanceof Map<?, ?> map) {
+                ((Map<String, Object>) map).forEach((key, value) -> {
+                    if ("resources".equals(key)) {
+                        ((List<List<Object>>) value).forEach(entry -> resources.add(toResourceTiming(entry)));
+                    } else if ("truncated".equals(key)) {
+                        truncated[0] = Boolean.TRUE.equals(value);
+                    } else {
+                        values.put(PageMetric.fromKey(key), ((Number) value).doubleValue());
+                    }
+                });
+            }
+        } catch (WebDriverException e) {
+            // no Performance APIs, or the page navigated away meanwhile
+        }
+        return values;
+    }
+
+    private static ResourceTiming toResourceTiming(List<Object> entry) {
+        return new ResourceTiming(
+                (String) entry.get(0),
+                (String) entry.get(1),
+                ((Number) entry.get(2)).longValue(),
+                ((Number) entry.get(3)).doubleValue(),
+                ((Number) entry.get(4)).doubleValue(),
+                ((Number) entry.get(5)).doubleValue(),
+                ((Number) entry.get(6)).doubleValue(),
+                ((Number) entry.get(7)).doubleValue(),
+                ((Number) entry.get(8)).doubleValue(),
+                Boolean.TRUE.equals(entry.get(9)));
+    }
+
+    /**
+     * Samples recorded on this thread since the last call.
+     */
+    public static List<Sample> drain() {
+        List<Sample> samples = List.copyOf(SAMPLES.get());
+        SAMPLES.remove();
+        return samples;
+    }
+}
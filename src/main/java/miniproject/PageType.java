@@ -6,37 +6,151 @@ import org.jspecify.annotations.Nullable;
 public enum PageType {
 
     CREATE_ACCOUNT(
-            "https://ecommerce.tealiumdemo.com/customer/account/create/",
+            "customer/account/create/",
             "Create New Customer Account"
     ),
     HOME(
-            "https://ecommerce.tealiumdemo.com/",
-            "Tealium Ecommerce Demo"
+            "",
+            "Tealium Ecommerce Demo",
+            false,
+            Budgets.WEB_VITALS_POOR
+    ),
+    MY_ACCOUNT(
+            "customer/account/",
+            "My Account"
     ),
     WISHLIST(
-            "https://ecommerce.tealiumdemo.com/wishlist/",
+            "wishlist/",
             "My Wishlist"
     ),
     SHOPPING_CART(
-            "https://ecommerce.tealiumdemo.com/checkout/cart/",
-            "Shopping Cart"
+            "checkout/cart/",
+            "Shopping Cart",
+            false,
+            Budgets.WEB_VITALS_POOR
+    ),
+
+    // Category listings; filters and sort orders are added with ListingUrl
+    WOMEN(
+            "women.html",
+            null,
+            true,
+            Budgets.WEB_VITALS_POOR.limit(PageMetric.LOAD, 10_000)
+    ),
+    MEN(
+            "men.html",
+            null,
+            true,
+            Budgets.WEB_VITALS_POOR.limit(PageMetric.LOAD, 10_000)
+    ),
+    SALE(
+            "sale.html",
+            null,
+            true,
+            Budgets.WEB_VITALS_POOR.limit(PageMetric.LOAD, 10_000)
     )
     ;
 
-    PageType(String url, @Nullable String title) {
-        this.url = Validate.notBlank(url, "url is required");
+    // A listing is ready once its product grid, or the "no products" note, is in the DOM
+    private static final String LISTING_READY_CSS = ".category-products, .col-main .note-msg";
+
+    private static final String DEFAULT_BASE_URL = "https://ecommerce.tealiumdemo.com/";
+
+    // Budgets can not be constants of the enum itself, which initialises its values first
+    private static final class Budgets {
+        // The web.dev "poor" thresholds: a page over these is slow for any visitor, not just for the test
+        static final PageBudget WEB_VITALS_POOR = PageBudget.none()
+                .limit(PageMetric.TTFB, 1800)
+                .limit(PageMetric.FIRST_CONTENTFUL_PAINT, 3000)
+                .limit(PageMetric.LARGEST_CONTENTFUL_PAINT, 4000)
+                .limit(PageMetric.CUMULATIVE_LAYOUT_SHIFT, 0.25);
+    }
+
+    PageType(String path, @Nullable String title) {
+        this(path, title, false, PageBudget.none());
+    }
+
+    PageType(String path, @Nullable String title, boolean listing) {
+        this(path, title, listing, PageBudget.none());
+    }
+
+    PageType(String path, @Nullable String title, boolean listing, PageBudget budget) {
+        this.path = Validate.notNull(path, "path is required");
         this.title = title;
+        this.listing = listing;
+        this.budget = Validate.notNull(budget, "budget is required");
     }
 
-    private final String url;
+    private final String path;
     private final String title;
+    private final boolean listing;
+    private final PageBudget budget;
+
+    /**
+     * Root of the site under test: {@code site.baseUrl}, by default the Tealium demo store.
+     * Read on every call so a local stand-in can be started before the first navigation.
+     */
+    public static String baseUrl() {
+        String baseUrl = System.getProperty("site.baseUrl", DEFAULT_BASE_URL);
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    /**
+     * Route whose path {@code url} is, ignoring query and fragment; {@code null} for other pages
+     * such as product pages.
+     */
+    public static @Nullable PageType fromUrl(String url) {
+        String base = baseUrl();
+        if (!url.startsWith(base)) {
+            return null;
+        }
+        String path = url.substring(base.length()).replaceFirst("[?#].*$", "");
+        for (PageType route : values()) {
+            if (route.path.equals(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
 
     public String getUrl() {
-        return this.url;
+        return baseUrl() + this.path;
+    }
+
+    /**
+     * Path of this route relative to {@link #baseUrl()}.
+     */
+    public String getPath() {
+        return this.path;
     }
 
     public String getTitle() {
         return this.title;
     }
 
+    /**
+     * True for category pages that accept layered-navigation filters and sort parameters.
+     */
+    public boolean isListing() {
+        return this.listing;
+    }
+
+    /**
+     * Limits for the timings of every navigation to this route, with any
+     * {@code perf.budget.<route>.<metric>} overrides applied.
+     */
+    public PageBudget getBudget() {
+        return budget.withOverrides(this);
+    }
+
+    /**
+     * What {@link BasePage#open(PageType)} waits for after loading this route.
+     */
+    public PageCondition<Boolean> readiness() {
+        if (listing) {
+            return PageCondition.present(LISTING_READY_CSS);
+        }
+        return title != null ? PageCondition.titleIs(this) : PageCondition.documentReady();
+    }
+
 }
@@ -1,12 +1,13 @@
 package miniproject;
 
+import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
-import java.util.List;
-
 public class ProductDetailPage extends BasePage {
 
     private static final By addToCartButtonBy = By.cssSelector(
@@ -31,62 +32,45 @@ public class ProductDetailPage extends BasePage {
      * Select the first available color swatch
      */
     public void selectFirstAvailableColor() {
-        JavascriptExecutor js = (JavascriptExecutor) webDriver;
-        List<WebElement> colorSwatches = webDriver.findElements(colorSwatchesBy);
-
-        for (WebElement swatch : colorSwatches) {
-            try {
-                // Check if swatch is not disabled
-                String classes = swatch.getAttribute("class");
-                if (!classes.contains("not-available")) {
-                    WebElement swatchLabel = swatch.findElement(By.cssSelector("a span.swatch-label"));
-                    js.executeScript("arguments[0].scrollIntoView({block: 'center'});", swatchLabel);
-
-                    try {
-                        Thread.sleep(300);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-
-                    js.executeScript("arguments[0].click();", swatchLabel);
-                    System.out.println("Selected color swatch");
-                    return;
-                }
-            } catch (Exception e) {
-                // Try next swatch
-            }
-        }
+        selectFirstAvailable(colorSwatchesBy, "color");
     }
 
     /**
      * Select the first available size swatch
      */
     public void selectFirstAvailableSize() {
+        selectFirstAvailable(sizeSwatchesBy, "size");
+    }
+
+    // Only the lookup skips a swatch; once one is clicked, a wait that times out is a real failure
+    private void selectFirstAvailable(By swatchesBy, String kind) {
+        WebElement swatchLabel = findFirstAvailableSwatchLabel(swatchesBy);
+        if (swatchLabel == null) {
+            System.out.println("No available " + kind + " swatch");
+            return;
+        }
         JavascriptExecutor js = (JavascriptExecutor) webDriver;
-        List<WebElement> sizeSwatches = webDriver.findElements(sizeSwatchesBy);
+        js.executeScript("arguments[0].scrollIntoView({block: 'center'});", swatchLabel);
+        waitFor(PageCondition.visible(swatchLabel));
+
+        js.executeScript("arguments[0].click();", swatchLabel);
+        waitForQuiet();
+        System.out.println("Selected " + kind + " swatch");
+    }
 
-        for (WebElement swatch : sizeSwatches) {
+    private @Nullable WebElement findFirstAvailableSwatchLabel(By swatchesBy) {
+        for (WebElement swatch : webDriver.findElements(swatchesBy)) {
             try {
                 // Check if swatch is not disabled
                 String classes = swatch.getAttribute("class");
-                if (!classes.contains("not-available")) {
-                    WebElement swatchLabel = swatch.findElement(By.cssSelector("a span.swatch-label"));
-                    js.executeScript("arguments[0].scrollIntoView({block: 'center'});", swatchLabel);
-
-                    try {
-                        Thread.sleep(300);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-
-                    js.executeScript("arguments[0].click();", swatchLabel);
-                    System.out.println("Selected size swatch");
-                    return;
+                if (classes != null && !classes.contains("not-available")) {
+                    return swatch.findElement(By.cssSelector("a span.swatch-label"));
                 }
-            } catch (Exception e) {
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
                 // Try next swatch
             }
         }
+        return null;
     }
 
     /**
@@ -97,21 +81,13 @@ public class ProductDetailPage extends BasePage {
         WebElement addButton = webDriver.findElement(addToCartButtonBy);
 
         js.executeScript("arguments[0].scrollIntoView({block: 'center'});", addButton);
-
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitFor(PageCondition.clickable(addButton));
 
         js.executeScript("arguments[0].click();", addButton);
         System.out.println("Clicked Add to Cart");
 
-        // Wait for cart to update
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Adding posts the product form, wait for the page it lands on to settle
+        waitForNavigationFrom(addButton);
+        waitForQuiet();
     }
 }
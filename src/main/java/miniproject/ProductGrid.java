@@ -0,0 +1,82 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product listing shared by the category pages. Reads the whole grid in one script call
+ * instead of several WebDriver round trips per product.
+ */
+public final class ProductGrid {
+
+    // All product <li> items of a category page
+    public static final String CATEGORY_PRODUCTS_CSS =
+            "body > div.wrapper > div > div.main-container.col3-layout > div > " +
+                    "div.col-wrapper > div.col-main > div.category-products > ul > li";
+
+    private static final String SNAPSHOT_SCRIPT = """
+            function text(root, selector) {
+                var el = root.querySelector(selector);
+                return el ? el.textContent.trim() : null;
+            }
+            return Array.from(document.querySelectorAll(arguments[0])).map(function (li) {
+                var link = li.querySelector('.product-name a');
+                var wishlist = li.querySelector('.actions a.link-wishlist')
+                        || li.querySelector('.actions > ul > li:first-child > a');
+                return {
+                    name: link ? link.textContent.trim() : (text(li, '.product-name') || ''),
+                    url: link ? link.href : null,
+                    regularPrice: text(li, '.price-box .regular-price .price'),
+                    specialPrice: text(li, '.price-box .special-price .price'),
+                    oldPrice: text(li, '.price-box .old-price .price'),
+                    swatches: Array.from(li.querySelectorAll('ul.configurable-swatch-list > li')).map(function (swatch) {
+                        var img = swatch.querySelector('img'), a = swatch.querySelector('a');
+                        return (img && img.alt) || (a && a.title) || swatch.className;
+                    }),
+                    wishlistUrl: wishlist ? wishlist.href : null
+                };
+            });
+            """;
+
+    private final WebDriver webDriver;
+    private final String productCss;
+
+    public ProductGrid(WebDriver webDriver, String productCss) {
+        this.webDriver = Validate.notNull(webDriver, "webDriver is required");
+        this.productCss = Validate.notBlank(productCss, "productCss is required");
+    }
+
+    /**
+     * All products currently in the grid, in page order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductTile> snapshot() {
+        var rows = (List<Map<String, Object>>) ((JavascriptExecutor) webDriver)
+                .executeScript(SNAPSHOT_SCRIPT, productCss);
+
+        return rows.stream()
+                .map(row -> new ProductTile(
+                        (String) row.get("name"),
+                        (String) row.get("url"),
+                        parsePrice(row.get("regularPrice")),
+                        parsePrice(row.get("specialPrice")),
+                        parsePrice(row.get("oldPrice")),
+                        List.copyOf((List<String>) row.get("swatches")),
+                        (String) row.get("wishlistUrl")
+                ))
+                .toList();
+    }
+
+    static @Nullable Double parsePrice(@Nullable Object text) {
+        if (text == null) {
+            return null;
+        }
+        String numeric = text.toString().replace("$", "").replace(",", "").trim();
+        return numeric.isEmpty() ? null : Double.parseDouble(numeric);
+    }
+}
@@ -0,0 +1,35 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * One product of a category grid, as read by {@link ProductGrid#snapshot()}.
+ * Prices are {@code null} when the product does not show that kind of price.
+ */
+public record ProductTile(
+        String name,
+        @Nullable String url,
+        @Nullable Double regularPrice,
+        @Nullable Double specialPrice,
+        @Nullable Double oldPrice,
+        List<String> swatches,
+        @Nullable String wishlistUrl
+) {
+
+    /**
+     * Special price if present, otherwise the regular price.
+     */
+    public double effectivePrice() {
+        Double price = specialPrice != null ? specialPrice : regularPrice;
+        if (price == null) {
+            throw new IllegalStateException("Product '" + name + "' has no price");
+        }
+        return price;
+    }
+
+    public boolean isOnSale() {
+        return specialPrice != null && oldPrice != null;
+    }
+}
@@ -0,0 +1,23 @@
+package miniproject;
+
+/**
+ * One request of a page's resource-timing waterfall. Times are milliseconds; {@code start} is
+ * from the start of the navigation. Cross-origin responses without {@code Timing-Allow-Origin}
+ * report zero for the phases and the size.
+ *
+ * @param renderBlocking the browser held the first paint for it, or, where the browser does not
+ *                       say, a classic script in the head
+ */
+public record ResourceTiming(
+        String url,
+        String initiatorType,
+        long transferSize,
+        double start,
+        double dns,
+        double connect,
+        double ttfb,
+        double download,
+        double duration,
+        boolean renderBlocking
+) {
+}
@@ -9,33 +9,23 @@ import java.util.List;
 public class SalePage extends BasePage {
 
     // All product <li> items on the Sale page
-    private static final By productContainerBy = By.cssSelector(
-            "body > div.wrapper > div > div.main-container.col3-layout > div > " +
-                    "div.col-wrapper > div.col-main > div.category-products > ul > li"
-    );
+    private static final By productContainerBy = By.cssSelector(ProductGrid.CATEGORY_PRODUCTS_CSS);
 
-    // Relative to each product <li>
-    private static final By priceBoxBy = By.cssSelector("div.price-box");
-    private static final By oldPriceBy = By.cssSelector("p.old-price .price");
-    private static final By specialPriceBy = By.cssSelector("p.special-price .price");
+    private final ProductGrid productGrid;
 
     public SalePage(WebDriver webDriver) {
         super(webDriver);
+        this.productGrid = new ProductGrid(webDriver, ProductGrid.CATEGORY_PRODUCTS_CSS);
     }
 
     public List<WebElement> getAllProducts() {
         return webDriver.findElements(productContainerBy);
     }
 
-    public WebElement getPriceBox(WebElement product) {
-        return product.findElement(priceBoxBy);
-    }
-
-    public WebElement getOldPrice(WebElement product) {
-        return product.findElement(oldPriceBy);
-    }
-
-    public WebElement getSpecialPrice(WebElement product) {
-        return product.findElement(specialPriceBy);
+    /**
+     * Every product of the grid, read in one browser call
+     */
+    public List<ProductTile> getProductTiles() {
+        return productGrid.snapshot();
     }
 }
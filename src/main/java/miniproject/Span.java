@@ -0,0 +1,113 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One timed unit of work in a trace: a test, a step, a page-object method or a single
+ * WebDriver command. Opened through {@link Spans} and ended by {@link #close()}, which
+ * also ends any child still open.
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * Something that happened at a point in time inside a span, such as a passed check.
+     */
+    public record Event(String name, long epochNanos) {
+    }
+
+    private final String traceId;
+    private final String spanId;
+    private final @Nullable String parentSpanId;
+    private final String name;
+    private final boolean step;
+    private final long startEpochNanos;
+    private long endEpochNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private final List<Event> events = new ArrayList<>();
+    private @Nullable String error;
+
+    Span(String traceId, String spanId, @Nullable String parentSpanId, String name, boolean step, long startEpochNanos) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.step = step;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    public Span attribute(String key, Object value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    /**
+     * Mark this span as failed.
+     */
+    public Span fail(String message) {
+        this.error = message;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        Spans.end(this);
+    }
+
+    void addEvent(Event event) {
+        events.add(event);
+    }
+
+    void end(long epochNanos) {
+        this.endEpochNanos = epochNanos;
+    }
+
+    boolean isStep() {
+        return step;
+    }
+
+    boolean isEnded() {
+        return endEpochNanos != 0;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public @Nullable String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public List<Event> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    public @Nullable String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,126 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Step tracing for tests and page objects. Spans nest per thread: a span opened while another
+ * is open becomes its child, and a span opened with nothing open starts a new trace.
+ *
+ * <pre>{@code
+ * try (Span span = Spans.open("wait " + condition.getName())) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * {@link #step(String)} is for the sequential steps of a test: it ends the previous step and
+ * opens the next, without a block around each. Finished spans are collected per thread until
+ * {@link #drain()}.
+ */
+public final class Spans {
+
+    // System.nanoTime is precise but has no epoch; anchor it once to the wall clock
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private static final ThreadLocal<Deque<Span>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<List<Span>> FINISHED = ThreadLocal.withInitial(ArrayList::new);
+
+    private Spans() {
+        // utility
+    }
+
+    /**
+     * Open a span as a child of the innermost open span. Close it to end it.
+     */
+    public static Span open(String name) {
+        return start(name, false);
+    }
+
+    /**
+     * End the current step, if the innermost open span is one, and start the next under the
+     * same parent. Steps left open end with their parent. The name is also printed.
+     */
+    public static Span step(String name) {
+        Span current = OPEN.get().peek();
+        if (current != null && current.isStep()) {
+            end(current);
+        }
+        System.out.println(name);
+        return start(name, true);
+    }
+
+    /**
+     * Record a point-in-time event, such as a passed check, on the innermost open span.
+     * The message is also printed.
+     */
+    public static void event(String message) {
+        System.out.println(message);
+        Span current = OPEN.get().peek();
+        if (current != null) {
+            current.addEvent(new Span.Event(message, now()));
+        }
+    }
+
+    /**
+     * Innermost open span on this thread, or {@code null} outside any trace.
+     */
+    public static @Nullable Span current() {
+        return OPEN.get().peek();
+    }
+
+    /**
+     * Spans finished on this thread since the last call, in the order they ended.
+     */
+    public static List<Span> drain() {
+        List<Span> finished = List.copyOf(FINISHED.get());
+        FINISHED.remove();
+        return finished;
+    }
+
+    private static Span start(String name, boolean step) {
+        Validate.notBlank(name, "span name is required");
+        Deque<Span> open = OPEN.get();
+        Span parent = open.peek();
+        String traceId = parent != null ? parent.getTraceId() : randomHex(16);
+        var span = new Span(traceId, randomHex(8), parent != null ? parent.getSpanId() : null, name, step, now());
+        open.push(span);
+        return span;
+    }
+
+    // Ends the span and every child still open above it; ending twice is a no-op
+    static void end(Span span) {
+        if (span.isEnded()) {
+            return;
+        }
+        Deque<Span> open = OPEN.get();
+        if (!open.contains(span)) {
+            span.end(now());
+            FINISHED.get().add(span);
+            return;
+        }
+        long end = now();
+        Span top;
+        do {
+            top = open.pop();
+            top.end(end);
+            FINISHED.get().add(top);
+        } while (top != span);
+    }
+
+    private static long now() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+}
@@ -0,0 +1,125 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.support.Color;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Declarative computed-style expectation for every element matching a selector, e.g.
+ * <pre>{@code
+ * StyleExpectation.forEach("p.old-price .price")
+ *         .within(ProductGrid.CATEGORY_PRODUCTS_CSS)
+ *         .colorIs("color", "#a0a0a0")
+ *         .contains("text-decoration", "line-through");
+ * }</pre>
+ * Evaluated for all matches in one browser call by {@link BasePage#checkStyles}.
+ */
+public final class StyleExpectation {
+
+    record PropertyCheck(String property, String expected, Predicate<String> test) {
+    }
+
+    private final String selector;
+    private @Nullable String scopeSelector;
+    private boolean mustBeVisible;
+    private boolean inEveryScope;
+    private final List<PropertyCheck> checks = new ArrayList<>();
+
+    private StyleExpectation(String selector) {
+        this.selector = Validate.notBlank(selector, "selector is required");
+    }
+
+    public static StyleExpectation forEach(String cssSelector) {
+        return new StyleExpectation(cssSelector);
+    }
+
+    /**
+     * Only look for matches inside elements matching {@code scopeCss} (e.g. each product tile).
+     * Violations then report which scope element they belong to.
+     */
+    public StyleExpectation within(String scopeCss) {
+        this.scopeSelector = Validate.notBlank(scopeCss, "scopeCss is required");
+        return this;
+    }
+
+    /**
+     * Also report every {@code within(...)} element that contains no match at all.
+     */
+    public StyleExpectation inEveryScope() {
+        this.inEveryScope = true;
+        return this;
+    }
+
+    public StyleExpectation visible() {
+        this.mustBeVisible = true;
+        return this;
+    }
+
+    public StyleExpectation colorIs(String property, String expectedHex) {
+        String expected = expectedHex.toLowerCase();
+        return check(property, "color " + expected, value -> expected.equals(toHex(value)));
+    }
+
+    public StyleExpectation equalTo(String property, String expected) {
+        return check(property, "= " + expected, expected::equals);
+    }
+
+    public StyleExpectation contains(String property, String text) {
+        return check(property, "contains " + text, value -> value.contains(text));
+    }
+
+    public StyleExpectation doesNotContain(String property, String text) {
+        return check(property, "does not contain " + text, value -> !value.contains(text));
+    }
+
+    public StyleExpectation check(String property, String expected, Predicate<String> test) {
+        checks.add(new PropertyCheck(Validate.notBlank(property, "property is required"), expected, test));
+        return this;
+    }
+
+    // Multi-valued shorthands (e.g. four different border colors) are not a single color
+    private static @Nullable String toHex(String value) {
+        try {
+            return Color.fromString(value).asHex();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    String getSelector() {
+        return selector;
+    }
+
+    @Nullable String getScopeSelector() {
+        return scopeSelector;
+    }
+
+    boolean isMustBeVisible() {
+        return mustBeVisible;
+    }
+
+    boolean isInEveryScope() {
+        return inEveryScope;
+    }
+
+    List<PropertyCheck> getChecks() {
+        return checks;
+    }
+
+    Set<String> getProperties() {
+        Set<String> properties = new LinkedHashSet<>();
+        checks.forEach(check -> properties.add(check.property()));
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return scopeSelector != null ? scopeSelector + " >> " + selector : selector;
+    }
+}
@@ -0,0 +1,23 @@
+package miniproject;
+
+/**
+ * One element that did not meet a {@link StyleExpectation}.
+ *
+ * @param scopeIndex 0-based index of the {@code within(...)} element, or -1 without a scope
+ */
+public record StyleViolation(
+        String expectation,
+        int scopeIndex,
+        String elementText,
+        String property,
+        String expected,
+        String actual
+) {
+
+    @Override
+    public String toString() {
+        String where = scopeIndex >= 0 ? " [#" + scopeIndex + "]" : "";
+        return expectation + where + " '" + elementText + "': " + property
+                + " expected " + expected + " but was '" + actual + "'";
+    }
+}
@@ -0,0 +1,34 @@
+package miniproject;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How long each {@link BasePage#waitFor(PageCondition)} call actually waited,
+ * collected per thread so parallel tests keep separate records.
+ */
+public final class WaitStats {
+
+    public record Sample(String condition, Duration elapsed, Duration timeout, boolean satisfied) {
+    }
+
+    private static final ThreadLocal<List<Sample>> SAMPLES = ThreadLocal.withInitial(ArrayList::new);
+
+    private WaitStats() {
+        // utility
+    }
+
+    static void record(Sample sample) {
+        SAMPLES.get().add(sample);
+    }
+
+    /**
+     * Samples recorded on this thread since the last call.
+     */
+    public static List<Sample> drain() {
+        List<Sample> samples = List.copyOf(SAMPLES.get());
+        SAMPLES.remove();
+        return samples;
+    }
+}
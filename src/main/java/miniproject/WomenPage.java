@@ -4,7 +4,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class WomenPage extends BasePage {
@@ -12,10 +11,7 @@ public class WomenPage extends BasePage {
     // ===== Locators for products and sorting =====
 
     // All product <li> items on Women page
-    private static final By productContainerBy = By.cssSelector(
-            "body > div.wrapper > div > div.main-container.col3-layout > div > " +
-                    "div.col-wrapper > div.col-main > div.category-products > ul > li"
-    );
+    private static final By productContainerBy = By.cssSelector(ProductGrid.CATEGORY_PRODUCTS_CSS);
 
     // Sort By <select>
     private static final By sortBySelectBy = By.cssSelector(
@@ -44,8 +40,11 @@ public class WomenPage extends BasePage {
                     "li:nth-child(1) > div > h2 > a"
     );
 
+    private final ProductGrid productGrid;
+
     public WomenPage(WebDriver webDriver) {
         super(webDriver);
+        this.productGrid = new ProductGrid(webDriver, ProductGrid.CATEGORY_PRODUCTS_CSS);
     }
 
     // ===== Product access =====
@@ -62,6 +61,13 @@ public class WomenPage extends BasePage {
         return webDriver.findElements(productContainerBy);
     }
 
+    /**
+     * Every product of the grid, read in one browser call
+     */
+    public List<ProductTile> getProductTiles() {
+        return productGrid.snapshot();
+    }
+
     // ===== Hover helper (used in previous tests) =====
 
     public void hoverOverElement(WebElement element) {
@@ -80,37 +86,11 @@ public class WomenPage extends BasePage {
         return webDriver.findElement(sortByPriceOptionBy);
     }
 
-    // For a given product <li>, get its price-box div
-    public WebElement getPriceBox(WebElement product) {
-        return product.findElement(By.cssSelector("div.price-box"));
-    }
-
-    /**
-     * Effective price for a price-box:
-     * - special price if present (old + special case)
-     * - otherwise regular price
-     */
-    public double getEffectivePriceFromPriceBox(WebElement priceBox) {
-        List<WebElement> special = priceBox.findElements(By.cssSelector("p.special-price span.price"));
-        String priceText;
-        if (!special.isEmpty()) {
-            priceText = special.get(0).getText();
-        } else {
-            WebElement regular = priceBox.findElement(By.cssSelector("span.regular-price span.price"));
-            priceText = regular.getText();
-        }
-        String numeric = priceText.replace("$", "").replace(",", "").trim();
-        return Double.parseDouble(numeric);
-    }
-
     // Collect all effective prices from page into a list
     public List<Double> getAllEffectivePrices() {
-        List<Double> prices = new ArrayList<>();
-        for (WebElement product : getAllProducts()) {
-            WebElement priceBox = getPriceBox(product);
-            prices.add(getEffectivePriceFromPriceBox(priceBox));
-        }
-        return prices;
+        return getProductTiles().stream()
+                .map(ProductTile::effectivePrice)
+                .toList();
     }
 
     // ===== Wishlist links for first and second product =====
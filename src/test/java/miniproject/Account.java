@@ -0,0 +1,19 @@
+package miniproject;
+
+/**
+ * A customer account on the site under test.
+ */
+public record Account(String email, String password, String firstName, String middleName, String lastName) {
+
+    String toLine() {
+        return String.join("\t", email, password, firstName, middleName, lastName);
+    }
+
+    static Account fromLine(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed account line: " + line);
+        }
+        return new Account(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+}
@@ -0,0 +1,309 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pre-provisioned customer accounts, handed out to tests as exclusive leases.
+ *
+ * <p>Accounts are persisted in {@code target/accounts.tsv} (override with {@code accounts.file})
+ * and reused by later runs. Missing accounts up to {@code accounts.pool.size} are registered
+ * through {@link AccountPage} in parallel, each in its own browser. A lease holds a file lock,
+ * so overlapping runs in other JVMs never get the same account either.
+ */
+public final class AccountPool {
+
+    public static final String DEFAULT_PASSWORD = "Password123!";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int size;
+    private final Path file;
+    private final Path lockDir;
+
+    private final BlockingDeque<Account> available = new LinkedBlockingDeque<>();
+    // Every known account by email; each is in available at most once unless leased
+    private final Map<String, Account> all = new LinkedHashMap<>();
+    private boolean loaded;
+    private boolean provisioned;
+
+    public AccountPool(Supplier<WebDriver> driverFactory, int size, Path file) {
+        Validate.isTrue(size > 0, "size must be positive");
+        this.driverFactory = Validate.notNull(driverFactory, "driverFactory is required");
+        this.size = size;
+        this.file = Validate.notNull(file, "file is required");
+        this.lockDir = file.resolveSibling(file.getFileName() + ".locks");
+    }
+
+    /**
+     * Pool sized by {@code accounts.pool.size} (default {@code ui.parallelism}, the number of
+     * tests running at once, or 1) and stored in {@code accounts.file} (default {@code target/accounts.tsv}).
+     */
+    public static AccountPool fromSystemProperties(Supplier<WebDriver> driverFactory) {
+        int size = Integer.getInteger("accounts.pool.size", Integer.getInteger("ui.parallelism", 1));
+        Path file = Path.of(System.getProperty("accounts.file", "target/accounts.tsv"));
+        if (LocalStorefront.isEnabled() && System.getProperty("accounts.file") == null) {
+            // accounts registered with the local stand-in do not outlive its JVM
+            file = Path.of(System.getProperty("java.io.tmpdir"), "accounts-" + ProcessHandle.current().pid() + ".tsv");
+        }
+        return new AccountPool(driverFactory, size, file);
+    }
+
+    /**
+     * A fresh identity whose email cannot collide with other runs, threads or machines.
+     */
+    public static Account newIdentity() {
+        String unique = Long.toString(System.currentTimeMillis(), 36) + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        return new Account("test-" + unique + "@mail.com", DEFAULT_PASSWORD, "Test", "Selenium", "Automation");
+    }
+
+    /**
+     * Borrow an account nobody else is using. Blocks while all accounts are leased in this JVM;
+     * registers an extra account if every known one is locked by another run.
+     */
+    public Lease lease() {
+        ensureProvisioned();
+
+        int lockedElsewhere = 0;
+        while (true) {
+            Account account = pollAvailable();
+            if (account == null) {
+                continue;
+            }
+
+            FileLock lock = tryLock(account);
+            if (lock != null) {
+                return new Lease(account, lock);
+            }
+
+            available.offerLast(account);
+            if (++lockedElsewhere >= allCount()) {
+                System.out.println("All pooled accounts are in use by other runs, registering another one");
+                add(provisionOne());
+                lockedElsewhere = 0;
+            }
+        }
+    }
+
+    /**
+     * Add an account that was registered elsewhere (e.g. by the account creation test).
+     */
+    public synchronized void add(Account account) {
+        loadOnce();
+        if (all.putIfAbsent(account.email(), account) == null) {
+            available.offerLast(account);
+        }
+        save();
+    }
+
+    private synchronized int allCount() {
+        return all.size();
+    }
+
+    // ===== Provisioning =====
+
+    private synchronized void ensureProvisioned() {
+        if (provisioned) {
+            return;
+        }
+        provisioned = true;
+
+        loadOnce();
+        int missing = size - all.size();
+        if (missing > 0) {
+            System.out.println("Registering " + missing + " pooled account(s)");
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Account>> futures = new ArrayList<>();
+                for (int i = 0; i < missing; i++) {
+                    futures.add(executor.submit(this::provisionOne));
+                }
+                for (Future<Account> future : futures) {
+                    Account account = future.get();
+                    all.put(account.email(), account);
+                    available.offerLast(account);
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not register pooled account", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while registering pooled accounts", e);
+            } finally {
+                save();
+            }
+        }
+    }
+
+    // The accounts of earlier runs, read before anything is added so save() cannot drop them
+    private synchronized void loadOnce() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        for (Account account : load()) {
+            if (all.putIfAbsent(account.email(), account) == null) {
+                available.offerLast(account);
+            }
+        }
+    }
+
+    private Account provisionOne() {
+        Account account = newIdentity();
+        WebDriver webDriver = driverFactory.get();
+        try {
+            register(webDriver, account);
+            return account;
+        } finally {
+            try {
+                webDriver.quit();
+            } catch (WebDriverException e) {
+                System.err.println("Could not quit provisioning driver: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Register {@code account} through the UI; {@code webDriver} is left signed in as it.
+     */
+    static void register(WebDriver webDriver, Account account) {
+        webDriver.get(PageType.HOME.getUrl());
+
+        var homePage = new HomePage(webDriver);
+        homePage.tryAcceptConsent();
+        homePage.openRegisterPage();
+
+        var accountPage = new AccountPage(webDriver);
+        accountPage.fillFirstName(account.firstName());
+        accountPage.fillMiddleName(account.middleName());
+        accountPage.fillLastName(account.lastName());
+        accountPage.fillEmail(account.email());
+        accountPage.fillPassword(account.password());
+        accountPage.fillConfirmPassword(account.password());
+        accountPage.submit();
+
+        if (!accountPage.isSuccessMessageDisplayed()
+                || !Objects.equals(webDriver.getTitle(), PageType.MY_ACCOUNT.getTitle())) {
+            throw new IllegalStateException("Registration failed for " + account.email());
+        }
+        System.out.println("Registered pooled account " + account.email());
+    }
+
+    // ===== Persistence and locking =====
+
+    private List<Account> load() {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(file).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(Account::fromLine)
+                    .toList();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not load accounts: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Merged with the file, so accounts another run added meanwhile are kept
+    private synchronized void save() {
+        Map<String, Account> merged = new LinkedHashMap<>();
+        load().forEach(account -> merged.put(account.email(), account));
+        merged.putAll(all);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "accounts", ".tmp");
+            Files.write(tmp, merged.values().stream().map(Account::toLine).toList());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save accounts: " + e.getMessage());
+        }
+    }
+
+    private Account pollAvailable() {
+        try {
+            return available.pollFirst(250, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an account", e);
+        }
+    }
+
+    private FileLock tryLock(Account account) {
+        try {
+            Files.createDirectories(lockDir);
+            FileChannel channel = FileChannel.open(
+                    lockDir.resolve(ArtifactStore.sanitize(account.email()) + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                FileLock lock = channel.tryLock();
+                if (lock == null) {
+                    channel.close();
+                }
+                return lock;
+            } catch (OverlappingFileLockException e) {
+                channel.close();
+                return null;
+            }
+        } catch (IOException e) {
+            System.err.println("Could not lock account " + account.email() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Exclusive use of one account until closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Account account;
+        private final FileLock lock;
+        private boolean closed;
+
+        private Lease(Account account, FileLock lock) {
+            this.account = account;
+            this.lock = lock;
+        }
+
+        public Account account() {
+            return account;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                lock.channel().close();
+            } catch (IOException e) {
+                System.err.println("Could not unlock account " + account.email() + ": " + e.getMessage());
+            }
+            available.offerLast(account);
+        }
+    }
+}
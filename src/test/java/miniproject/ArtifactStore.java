@@ -0,0 +1,46 @@
+package miniproject;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates artifact files that never collide, even when tests run in parallel.
+ */
+public final class ArtifactStore {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ArtifactStore() {
+        // utility
+    }
+
+    /**
+     * Create a new empty file {@code <dir>/<name>_<timestamp>_<seq>.<extension>}.
+     * The file is created atomically, so two threads can never get the same path.
+     */
+    public static Path newFile(Path dir, String name, String extension) throws IOException {
+        Files.createDirectories(dir);
+
+        String base = sanitize(name) + "_" + LocalDateTime.now().format(TIMESTAMP);
+        while (true) {
+            Path candidate = dir.resolve(base + "_" + SEQUENCE.incrementAndGet() + "." + extension);
+            try {
+                return Files.createFile(candidate);
+            } catch (FileAlreadyExistsException e) {
+                // another JVM got there first, try the next sequence number
+            }
+        }
+    }
+
+    static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+}
@@ -1,31 +1,361 @@
 package miniproject;
 
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ExtendWith(ScreenshotOnFailureExtension.class)
 public abstract class BaseUiTest {
 
+    private static final ImplicitWaitMeter IMPLICIT_WAIT_METER = new ImplicitWaitMeter();
+    private static final CommandTimer COMMAND_TIMER = new CommandTimer();
+    private static final CommandSpans COMMAND_SPANS = new CommandSpans();
+    private static final FlightRecorderListener FLIGHT_RECORDER = new FlightRecorderListener();
+
+    // One pool per browser profile, created when the first test needs it
+    private static final Map<BrowserProfile, DriverPool> DRIVER_POOLS = new ConcurrentHashMap<>();
+
+    // DevTools instruments of one driver, drained at teardown for the per-test reports
+    private record Instruments(RequestBlocker requestBlocker, @Nullable CacheMeter cacheMeter,
+                               @Nullable TrafficInterceptor trafficInterceptor,
+                               @Nullable ResourceMeter resourceMeter) {
+    }
+
+    // Weak keys so retired drivers do not pile up
+    private static final Map<WebDriver, Instruments> INSTRUMENTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static {
+        if (LocalStorefront.isEnabled()) {
+            LocalStorefront.start();
+        }
+        ConsentCookieFile.loadOnce();
+        LocatorStatsFile.loadOnce();
+    }
+
+    private static final AccountPool ACCOUNT_POOL = AccountPool.fromSystemProperties(
+            () -> newDriver(available(BrowserProfile.fromSystemProperties())));
+
+    // JUnit creates a new instance per test method, so this field is never shared between
+    // concurrently running tests; infrastructure code should use DriverContext.current()
     protected WebDriver webDriver;
 
+    private DriverPool driverPool;
+    private DriverPool.Session session;
+    private Span testSpan;
+    private BrowserProfile profile;
+    private ResourceReport.Start resourceStart;
+
+    private final List<AccountPool.Lease> leases = new ArrayList<>();
+
     @BeforeEach
     void initDriver(TestInfo testInfo) {
-        webDriver = new ChromeDriver();
-        webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
-        webDriver.manage().window().maximize();
-        System.out.println("Starting test: " + testInfo.getDisplayName());
+        profile = profileFor(testInfo);
+        Spans.drain();
+        testSpan = Spans.open(testInfo.getDisplayName()).attribute("browser.profile", profile.name());
+        driverPool = DRIVER_POOLS.computeIfAbsent(profile,
+                p -> DriverPool.fromSystemProperties(() -> newDriver(p)));
+        session = driverPool.acquire();
+        webDriver = session.driver();
+        DriverContext.bind(webDriver);
+        ImplicitWaitMeter.reset();
+        CommandTimer.reset();
+        ResourceMeter resourceMeter = resourceMeter(webDriver);
+        if (resourceMeter != null) {
+            resourceMeter.start();
+        }
+        Instruments instruments = INSTRUMENTS.get(webDriver);
+        if (instruments != null && instruments.trafficInterceptor() != null) {
+            instruments.trafficInterceptor().beginTest(testId(testInfo));
+        }
+        resourceStart = ResourceReport.start();
+        System.out.println("Starting test: " + testInfo.getDisplayName() + " [" + profile + "]");
     }
 
     @AfterEach
-    void tearDown() {
-        if (webDriver != null) {
-            webDriver.quit();
+    void tearDown(TestInfo testInfo) {
+        String overBudget = null;
+        try {
+            report("test span", testSpan::close);
+            report("resources", () -> reportResources(testInfo));
+            List<PageTimings.Sample> pageTimings = PageTimings.drain();
+            String[] budgetFailure = new String[1];
+            report("page timings", () -> budgetFailure[0] = reportPageTimings(testInfo, pageTimings));
+            report("page timing history", () -> PageTimingHistory.append(pageTimings, profile, blockingMode(webDriver)));
+            overBudget = budgetFailure[0];
+            report("waterfalls", () -> reportWaterfalls(testInfo, pageTimings));
+            report("trace", () -> reportTrace(testInfo));
+            report("waits", () -> reportWaits(testInfo));
+            report("implicit waits", () -> reportImplicitWaits(testInfo));
+            report("commands", () -> reportCommands(testInfo));
+            report("instruments", () -> reportInstruments(testInfo, webDriver));
+        } finally {
+            DriverContext.unbind();
+            try {
+                leases.forEach(AccountPool.Lease::close);
+                leases.clear();
+            } finally {
+                driverPool.release(session);
+            }
+            driverPool = null;
+            session = null;
+            webDriver = null;
+            profile = null;
+            resourceStart = null;
+        }
+
+        // Only after the driver and leases went back, so a budget failure does not leak them
+        if (overBudget != null) {
+            throw new AssertionError(overBudget);
+        }
+    }
+
+    // A report that breaks is printed and skipped; it must not keep the others or the cleanup from running
+    private static void report(String what, Runnable report) {
+        try {
+            report.run();
+        } catch (RuntimeException e) {
+            System.err.println("Could not report " + what + ": " + e);
+        }
+    }
+
+    /**
+     * Sign in as {@code email}; only the first call per account goes through the login pages.
+     */
+    protected void signIn(String email, String password) {
+        SessionCache.signIn(webDriver, email, password);
+    }
+
+    /**
+     * Sign in as {@code account}.
+     */
+    protected void signIn(Account account) {
+        signIn(account.email(), account.password());
+    }
+
+    /**
+     * Borrow a registered account for the rest of this test; it is returned to the pool at teardown.
+     */
+    protected Account leaseAccount() {
+        AccountPool.Lease lease = ACCOUNT_POOL.lease();
+        leases.add(lease);
+        return lease.account();
+    }
+
+    /**
+     * Register a new account on this test's browser and stay signed in as it, leaving the
+     * browser on My Account. For flows that assert exact wishlist or cart contents, which a
+     * pooled account carries over from earlier tests and runs.
+     */
+    protected Account registerFreshAccount() {
+        Account account = AccountPool.newIdentity();
+        AccountPool.register(webDriver, account);
+        return account;
+    }
+
+    /**
+     * Offer an account registered by a test to later tests and runs.
+     */
+    protected void addToAccountPool(Account account) {
+        ACCOUNT_POOL.add(account);
+    }
+
+    private static void reportWaits(TestInfo testInfo) {
+        List<WaitStats.Sample> waits = WaitStats.drain();
+        if (waits.isEmpty()) {
+            return;
+        }
+
+        Duration total = waits.stream().map(WaitStats.Sample::elapsed).reduce(Duration.ZERO, Duration::plus);
+        WaitStats.Sample longest = Collections.max(waits, Comparator.comparing(WaitStats.Sample::elapsed));
+        System.out.println("Waits in " + testInfo.getDisplayName() + ": " + waits.size()
+                + " totalling " + total.toMillis() + " ms (longest: " + longest.condition()
+                + " " + longest.elapsed().toMillis() + " ms)");
+    }
+
+    private static void reportImplicitWaits(TestInfo testInfo) {
+        ImplicitWaitMeter.Totals totals = ImplicitWaitMeter.current();
+        if (totals.failedLookups() > 0) {
+            System.out.println("Implicit wait in " + testInfo.getDisplayName() + ": "
+                    + totals.failedLookups() + " failed lookups cost " + totals.lost().toMillis() + " ms");
+        }
+    }
+
+    private static void reportTrace(TestInfo testInfo) {
+        Path trace = TraceExporter.export(testInfo.getDisplayName(), Spans.drain());
+        if (trace != null) {
+            System.out.println("Trace of " + testInfo.getDisplayName() + ": " + trace);
+        }
+    }
+
+    private static void reportCommands(TestInfo testInfo) {
+        List<CommandTimer.Stat> stats = CommandTimer.drain();
+        if (stats.isEmpty()) {
+            return;
+        }
+        long commands = stats.stream().mapToLong(CommandTimer.Stat::count).sum();
+        Duration total = stats.stream().map(CommandTimer.Stat::total).reduce(Duration.ZERO, Duration::plus);
+        System.out.println("WebDriver commands in " + testInfo.getDisplayName() + ": " + commands
+                + " totalling " + total.toMillis() + " ms, slowest:");
+        CommandTimer.top(stats).forEach(stat -> System.out.println("  " + stat));
+    }
+
+    /**
+     * Print the page timings of the test. Returns the failure message when
+     * {@code perf.budgets=fail} and a page went over budget.
+     */
+    private static @Nullable String reportPageTimings(TestInfo testInfo, List<PageTimings.Sample> samples) {
+        List<PageTimings.Sample> unchecked = samples.stream().filter(PageTimings.Sample::isUnchecked).toList();
+        if (!unchecked.isEmpty()) {
+            System.out.println("Page-load budget not checked in " + testInfo.getDisplayName()
+                    + ", metrics not reported: " + unchecked);
+        }
+        List<PageTimings.Sample> overBudget = samples.stream().filter(PageTimings.Sample::isOverBudget).toList();
+        if (overBudget.isEmpty()) {
+            return null;
+        }
+        String message = "Over page-load budget in " + testInfo.getDisplayName() + ": " + overBudget;
+        System.out.println(message);
+        return PageBudget.Mode.fromSystemProperties() == PageBudget.Mode.FAIL ? message : null;
+    }
+
+    private static void reportWaterfalls(TestInfo testInfo, List<PageTimings.Sample> samples) {
+        Path waterfall = WaterfallReport.write(testInfo.getDisplayName(), samples);
+        if (waterfall != null) {
+            System.out.println("Waterfalls of " + testInfo.getDisplayName() + ": " + waterfall);
+        }
+    }
+
+    private void reportResources(TestInfo testInfo) {
+        ResourceMeter resourceMeter = resourceMeter(webDriver);
+        ResourceReport.Row row = ResourceReport.finish(testInfo.getDisplayName(), profile.name(), resourceStart,
+                resourceMeter != null ? resourceMeter.stop() : null);
+        System.out.println("Resources of " + testInfo.getDisplayName() + ": " + row);
+    }
+
+    private static @Nullable ResourceMeter resourceMeter(WebDriver webDriver) {
+        Instruments instruments = INSTRUMENTS.get(webDriver);
+        return instruments != null ? instruments.resourceMeter() : null;
+    }
+
+    private static RequestBlocker.Mode blockingMode(WebDriver webDriver) {
+        Instruments instruments = INSTRUMENTS.get(webDriver);
+        return instruments != null ? instruments.requestBlocker().getMode() : RequestBlocker.Mode.OFF;
+    }
+
+    private static void reportInstruments(TestInfo testInfo, WebDriver webDriver) {
+        Instruments instruments = INSTRUMENTS.get(webDriver);
+        if (instruments == null) {
+            return;
+        }
+
+        RequestBlocker blocker = instruments.requestBlocker();
+        if (blocker.getMode() != RequestBlocker.Mode.OFF) {
+            RequestBlocker.Report report = blocker.drain();
+            if (report.requests() > 0) {
+                String verb = blocker.getMode() == RequestBlocker.Mode.OBSERVE ? "Blockable" : "Blocked";
+                System.out.println(verb + " in " + testInfo.getDisplayName() + ": " + report);
+            }
+        }
+
+        if (instruments.cacheMeter() != null) {
+            CacheMeter.Report report = instruments.cacheMeter().drain();
+            if (report.responses() > 0) {
+                System.out.println("HTTP cache in " + testInfo.getDisplayName() + ": " + report);
+            }
+        }
+
+        if (instruments.trafficInterceptor() != null) {
+            TrafficInterceptor.Report report = instruments.trafficInterceptor().drain();
+            if (report.hits() + report.misses() > 0) {
+                System.out.println("Traffic replay in " + testInfo.getDisplayName() + ": " + report);
+            }
+        }
+    }
+
+    /**
+     * {@link UsesBrowserProfile} on the test method, then on its class, then {@code browser.profile}.
+     * Browserless tests run on the configured Chrome profile unless the local stand-in is serving the site.
+     */
+    private static BrowserProfile profileFor(TestInfo testInfo) {
+        return available(testInfo.getTestMethod()
+                .map(method -> method.getAnnotation(UsesBrowserProfile.class))
+                .or(() -> testInfo.getTestClass().map(type -> type.getAnnotation(UsesBrowserProfile.class)))
+                .map(UsesBrowserProfile::value)
+                .orElseGet(BrowserProfile::fromSystemProperties));
+    }
+
+    // Stable across runs, unlike the display name a test may set
+    private static String testId(TestInfo testInfo) {
+        return testInfo.getTestClass().map(Class::getSimpleName).orElse("")
+                + "." + testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName());
+    }
+
+    private static BrowserProfile available(BrowserProfile profile) {
+        if (!profile.isBrowserless() || LocalStorefront.isRunning()) {
+            return profile;
         }
+        BrowserProfile configured = BrowserProfile.fromSystemProperties();
+        BrowserProfile substitute = configured.isBrowserless() ? BrowserProfile.FIDELITY : configured;
+        System.out.println(profile + " needs the local storefront (-Dsite.local=true), running on " + substitute + " instead");
+        return substitute;
+    }
+
+    private static WebDriver newDriver(BrowserProfile profile) {
+        return profile.options()
+                .map(options -> newChromeDriver(profile, options))
+                .orElseGet(BaseUiTest::newHtmlUnitDriver);
+    }
+
+    // No DevTools, so none of the instruments apply
+    private static WebDriver newHtmlUnitDriver() {
+        var driver = new HtmlUnitDriver(true);
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
+        return new EventFiringDecorator<WebDriver>(IMPLICIT_WAIT_METER, COMMAND_TIMER, COMMAND_SPANS, FLIGHT_RECORDER).decorate(driver);
+    }
+
+    private static WebDriver newChromeDriver(BrowserProfile profile, ChromeOptions options) {
+        List<WebDriverListener> listeners = new ArrayList<>(
+                List.of(IMPLICIT_WAIT_METER, COMMAND_TIMER, COMMAND_SPANS, FLIGHT_RECORDER));
+        if (WarmCache.isEnabled()) {
+            WebDriverListener sessionCleanup = WarmCache.applyTo(options);
+            if (sessionCleanup != null) {
+                listeners.add(sessionCleanup);
+            }
+        }
+
+        var driver = new ChromeDriver(options);
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
+        profile.configure(driver);
+        PageCondition.installRequestTracker(driver);
+        if (PageTimings.isWaterfallEnabled()) {
+            PageTimings.installResourceBuffer(driver);
+        }
+        ConsentCookies.seed(driver);
+        var instruments = new Instruments(RequestBlocker.install(driver),
+                WarmCache.isEnabled() ? CacheMeter.install(driver) : null,
+                TrafficInterceptor.install(driver), ResourceMeter.install(driver));
+
+        WebDriver decorated = new EventFiringDecorator<WebDriver>(listeners.toArray(WebDriverListener[]::new)).decorate(driver);
+        INSTRUMENTS.put(decorated, instruments);
+        return decorated;
     }
 }
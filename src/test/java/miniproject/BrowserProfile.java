@@ -0,0 +1,121 @@
+package miniproject;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How a test's browser is launched.
+ *
+ * <p>Tests pick one with {@link UsesBrowserProfile}; the rest use {@code browser.profile}
+ * ({@code fidelity} by default, a plain Chrome window as before profiles existed). Each profile
+ * has its own driver pool. Tests that read computed styles or hover state pin {@link #FIDELITY},
+ * so they get a real window whatever the default is.
+ */
+public enum BrowserProfile {
+
+    /**
+     * Headless at a fixed viewport, {@code eager} page loads, no images, no CSS animations or
+     * transitions, no extensions or background networking.
+     */
+    FAST {
+        @Override
+        Optional<ChromeOptions> options() {
+            var options = new ChromeOptions();
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=" + VIEWPORT.getWidth() + "," + VIEWPORT.getHeight(),
+                    "--force-prefers-reduced-motion",
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--no-first-run",
+                    "--mute-audio"
+            );
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            return Optional.of(options);
+        }
+
+        @Override
+        void configure(WebDriver driver) {
+            driver.manage().window().setSize(VIEWPORT);
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", NO_ANIMATIONS_SCRIPT));
+            }
+        }
+    },
+
+    /**
+     * A real, maximized window with the default page-load strategy, for visual checks.
+     */
+    FIDELITY {
+        @Override
+        Optional<ChromeOptions> options() {
+            return Optional.of(new ChromeOptions());
+        }
+
+        @Override
+        void configure(WebDriver driver) {
+            driver.manage().window().maximize();
+        }
+    },
+
+    /**
+     * No browser: HtmlUnit runs the page objects in the JVM, with JavaScript but no layout,
+     * CSS or DevTools. Starts in milliseconds; for logic-only tests against {@link LocalStorefront}.
+     */
+    BROWSERLESS {
+        @Override
+        Optional<ChromeOptions> options() {
+            return Optional.empty();
+        }
+
+        @Override
+        void configure(WebDriver driver) {
+            // nothing to size or inject
+        }
+    };
+
+    private static final Dimension VIEWPORT = new Dimension(1366, 900);
+
+    private static final String NO_ANIMATIONS_SCRIPT = """
+            document.addEventListener('DOMContentLoaded', function () {
+                var style = document.createElement('style');
+                style.textContent = '*, *::before, *::after { transition: none !important;'
+                        + ' animation: none !important; scroll-behavior: auto !important; }';
+                document.head.appendChild(style);
+            });
+            """;
+
+    /**
+     * Chrome launch options, or empty for a profile that does not launch Chrome.
+     */
+    abstract Optional<ChromeOptions> options();
+
+    /**
+     * Settings that can only be applied once the browser is running.
+     */
+    abstract void configure(WebDriver driver);
+
+    /**
+     * True when tests run on HtmlUnit instead of Chrome.
+     */
+    boolean isBrowserless() {
+        return options().isEmpty();
+    }
+
+    /**
+     * The profile for tests that do not declare one: {@code browser.profile}, default {@code fidelity}.
+     */
+    public static BrowserProfile fromSystemProperties() {
+        return valueOf(System.getProperty("browser.profile", "fidelity").trim().toUpperCase());
+    }
+}
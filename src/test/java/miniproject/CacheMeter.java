@@ -0,0 +1,147 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts HTTP cache hits and page-load times of one browser through DevTools events.
+ *
+ * <p>A response is a hit when it came from the disk or memory cache. Page-load time runs from
+ * the main document request to the page's load event.
+ */
+public final class CacheMeter {
+
+    private static final Totals SUITE = new Totals();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CacheMeter::printSuiteSummary, "cache-meter-summary"));
+    }
+
+    /**
+     * Responses and page loads since the last {@link #drain()}.
+     */
+    public record Report(long responses, long cacheHits, long pageLoads, Duration totalLoad) {
+
+        public double hitRatio() {
+            return responses == 0 ? 0 : (double) cacheHits / responses;
+        }
+
+        public Duration meanLoad() {
+            return pageLoads == 0 ? Duration.ZERO : totalLoad.dividedBy(pageLoads);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f%% cache hits (%d/%d responses), %d page loads averaging %d ms",
+                    hitRatio() * 100, cacheHits, responses, pageLoads, meanLoad().toMillis());
+        }
+    }
+
+    private static final class Totals {
+        final AtomicLong responses = new AtomicLong();
+        final AtomicLong cacheHits = new AtomicLong();
+        final AtomicLong pageLoads = new AtomicLong();
+        final AtomicLong loadMicros = new AtomicLong();
+
+        Report drain() {
+            return new Report(responses.getAndSet(0), cacheHits.getAndSet(0),
+                    pageLoads.getAndSet(0), Duration.ofNanos(loadMicros.getAndSet(0) * 1000));
+        }
+
+        void add(Report report) {
+            responses.addAndGet(report.responses());
+            cacheHits.addAndGet(report.cacheHits());
+            pageLoads.addAndGet(report.pageLoads());
+            loadMicros.addAndGet(report.totalLoad().toNanos() / 1000);
+        }
+    }
+
+    private final Totals totals = new Totals();
+    private final Set<String> servedFromCache = ConcurrentHashMap.newKeySet();
+
+    // DevTools monotonic timestamp (seconds) of the current main document request
+    private volatile double navigationStart = -1;
+
+    private CacheMeter() {
+    }
+
+    /**
+     * Start metering a freshly created driver. Returns {@code null} when it has no DevTools.
+     */
+    public static @Nullable CacheMeter install(WebDriver webDriver) {
+        if (!(webDriver instanceof HasDevTools hasDevTools)) {
+            return null;
+        }
+        var meter = new CacheMeter();
+        meter.attach(hasDevTools.getDevTools());
+        return meter;
+    }
+
+    private void attach(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.send(new Command<>("Page.enable", Map.of()));
+
+        devTools.addListener(DevToolsEvents.named("Network.requestWillBeSent"), e -> {
+            if ("Document".equals(e.get("type")) && e.get("requestId").equals(e.get("loaderId"))) {
+                navigationStart = ((Number) e.get("timestamp")).doubleValue();
+            }
+        });
+        devTools.addListener(DevToolsEvents.named("Network.requestServedFromCache"),
+                e -> servedFromCache.add((String) e.get("requestId")));
+        devTools.addListener(DevToolsEvents.named("Network.responseReceived"), e -> {
+            Map<?, ?> response = (Map<?, ?>) e.get("response");
+            if (String.valueOf(response.get("url")).startsWith("data:")) {
+                return;
+            }
+            totals.responses.incrementAndGet();
+            boolean fromMemory = servedFromCache.remove((String) e.get("requestId"));
+            if (fromMemory || Boolean.TRUE.equals(response.get("fromDiskCache"))) {
+                totals.cacheHits.incrementAndGet();
+            }
+        });
+        devTools.addListener(DevToolsEvents.named("Page.loadEventFired"), e -> {
+            double start = navigationStart;
+            if (start >= 0) {
+                navigationStart = -1;
+                totals.pageLoads.incrementAndGet();
+                totals.loadMicros.addAndGet((long) ((((Number) e.get("timestamp")).doubleValue() - start) * 1_000_000));
+            }
+        });
+    }
+
+    /**
+     * Counts since the last call, for per-test reporting; they also go into the suite summary.
+     */
+    public Report drain() {
+        Report report = totals.drain();
+        SUITE.add(report);
+        return report;
+    }
+
+    private static void printSuiteSummary() {
+        Report suite = SUITE.drain();
+        if (suite.responses() == 0) {
+            return;
+        }
+        System.out.println("HTTP cache over the suite: " + suite);
+
+        // The suite's own page loads cover other pages, so the warm cache is judged on the priming routes only
+        Duration cold = WarmCache.coldMeanLoad();
+        Duration warm = WarmCache.warmMeanLoad();
+        if (cold != null && warm != null) {
+            long change = Math.round(100.0 * (warm.toMillis() - cold.toMillis()) / Math.max(1, cold.toMillis()));
+            System.out.println(String.format("Warm cache on the priming routes: %d ms cold, %d ms warm (%+d%%)",
+                    cold.toMillis(), warm.toMillis(), change));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package miniproject;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Opens a {@link Span} around every WebDriver command issued inside a trace, so a test's
+ * trace reaches down to single round trips. Spans are named like {@link CommandTimer} sites,
+ * after the page-object method that issued the command. Commands outside a trace are left alone.
+ * Disabled with {@code trace.commands=false}.
+ */
+public final class CommandSpans implements WebDriverListener {
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("trace.commands", "true"));
+
+    // Spans of the commands in flight on this thread; null where the command started outside a trace
+    private static final ThreadLocal<Deque<Span>> IN_FLIGHT = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Span OUTSIDE_TRACE = new Span("", "", null, "outside trace", false, 0);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!ENABLED) {
+            return;
+        }
+        if (Spans.current() == null) {
+            IN_FLIGHT.get().push(OUTSIDE_TRACE);
+            return;
+        }
+        IN_FLIGHT.get().push(Spans.open(CommandTimer.site(target, method)).attribute("webdriver.command", true));
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(e.getCause() != null ? e.getCause() : e);
+    }
+
+    private static void finish(Throwable error) {
+        if (!ENABLED || IN_FLIGHT.get().isEmpty()) {
+            return;
+        }
+        Span span = IN_FLIGHT.get().pop();
+        if (span == OUTSIDE_TRACE) {
+            return;
+        }
+        if (error != null) {
+            span.fail(error.getClass().getSimpleName());
+        }
+        span.close();
+    }
+}
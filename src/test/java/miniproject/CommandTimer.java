@@ -0,0 +1,203 @@
+package miniproject;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.security.CodeSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Times every WebDriver command and attributes it to the page-object method that issued it,
+ * e.g. {@code CartPage.getRowSubtotals > findElement}.
+ *
+ * <p>The caller is the outermost page-object frame (a class from the main sources) above the
+ * test code, found with a {@link StackWalker}; commands issued straight from test code are
+ * attributed to the test-side method. Samples go into per-thread {@link LatencyHistogram}s,
+ * drained per test by {@link #drain()} and summed for the suite summary printed at exit.
+ */
+public final class CommandTimer implements WebDriverListener {
+
+    /**
+     * Latency of one command issued from one method.
+     */
+    public record Stat(String site, long count, Duration total, Duration p50, Duration p95, Duration p99, Duration max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-60s n=%-5d total=%6d ms  p50=%5.1f  p95=%5.1f  p99=%5.1f  max=%6.1f ms",
+                    site, count, total.toMillis(), millis(p50), millis(p95), millis(p99), millis(max));
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1_000_000.0;
+        }
+    }
+
+    private static final int REPORTED_PER_TEST = Integer.getInteger("commands.report.top", 10);
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String PACKAGE = CommandTimer.class.getPackageName();
+
+    // Page objects are the classes built from the main sources, next to BasePage
+    private static final CodeSource PAGE_OBJECTS = BasePage.class.getProtectionDomain().getCodeSource();
+    private static final ClassValue<Boolean> IS_PAGE_OBJECT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return Objects.equals(type.getProtectionDomain().getCodeSource(), PAGE_OBJECTS);
+        }
+    };
+
+    private static final ThreadLocal<Map<String, LatencyHistogram>> CURRENT = ThreadLocal.withInitial(HashMap::new);
+    private static final Map<String, LatencyHistogram> SUITE = new HashMap<>();
+
+    // Start times of the commands in flight on this thread; calls can nest through the decorator
+    private static final ThreadLocal<long[]> STARTS = ThreadLocal.withInitial(() -> new long[9]);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CommandTimer::printSuiteSummary, "command-timer-summary"));
+    }
+
+    /**
+     * Forget everything timed on this thread so far.
+     */
+    public static void reset() {
+        CURRENT.get().clear();
+    }
+
+    /**
+     * Timings since the last call on this thread, slowest total first; they also go into the
+     * suite summary.
+     */
+    public static List<Stat> drain() {
+        Map<String, LatencyHistogram> current = CURRENT.get();
+        List<Stat> stats = toStats(current);
+        synchronized (SUITE) {
+            current.forEach((site, histogram) -> SUITE.computeIfAbsent(site, _ -> new LatencyHistogram()).merge(histogram));
+        }
+        current.clear();
+        return stats;
+    }
+
+    /**
+     * The slowest sites of a drained test, for the per-test report.
+     */
+    public static List<Stat> top(List<Stat> stats) {
+        return stats.subList(0, Math.min(stats.size(), REPORTED_PER_TEST));
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        long[] starts = STARTS.get();
+        int depth = (int) starts[0];
+        if (depth < starts.length - 1) {
+            starts[depth + 1] = System.nanoTime();
+        }
+        starts[0] = depth + 1;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private static void finish(Object target, Method method) {
+        long end = System.nanoTime();
+        long[] starts = STARTS.get();
+        int depth = (int) starts[0];
+        if (depth == 0) {
+            return;
+        }
+        starts[0] = depth - 1;
+        if (depth > starts.length - 1) {
+            return;
+        }
+        CURRENT.get().computeIfAbsent(site(target, method), _ -> new LatencyHistogram()).record(end - starts[depth]);
+    }
+
+    /**
+     * The command and the page-object method that issued it, e.g. {@code CartPage.getRowSubtotals > findElement}.
+     */
+    static String site(Object target, Method method) {
+        return caller() + " > " + command(target, method);
+    }
+
+    private static String command(Object target, Method method) {
+        if (target instanceof WebDriver || target instanceof WebElement) {
+            return method.getName();
+        }
+        // navigate(), manage(), switchTo() and friends
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * Outermost page-object frame above the test code, else the first frame of ours.
+     */
+    private static String caller() {
+        return WALKER.walk(frames -> {
+            StackWalker.StackFrame pageObject = null;
+            StackWalker.StackFrame ours = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (type == CommandTimer.class || type == CommandSpans.class || !type.getPackageName().equals(PACKAGE)) {
+                    continue;
+                }
+                if (IS_PAGE_OBJECT.get(type)) {
+                    pageObject = frame;
+                } else if (pageObject != null) {
+                    break;
+                } else if (ours == null) {
+                    ours = frame;
+                    break;
+                }
+            }
+            StackWalker.StackFrame caller = pageObject != null ? pageObject : ours;
+            return caller != null ? describe(caller) : "(driver internals)";
+        });
+    }
+
+    // lambda$getRowSubtotals$2 -> getRowSubtotals
+    private static String describe(StackWalker.StackFrame frame) {
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = method.substring("lambda$".length(), end > 0 ? end : method.length());
+        }
+        return frame.getDeclaringClass().getSimpleName() + "." + method;
+    }
+
+    private static List<Stat> toStats(Map<String, LatencyHistogram> histograms) {
+        List<Stat> stats = new ArrayList<>();
+        histograms.forEach((site, h) -> stats.add(new Stat(site, h.count(), h.total(),
+                h.percentile(50), h.percentile(95), h.percentile(99), h.max())));
+        stats.sort(Comparator.comparing(Stat::total).reversed());
+        return stats;
+    }
+
+    private static void printSuiteSummary() {
+        List<Stat> stats;
+        synchronized (SUITE) {
+            stats = toStats(SUITE);
+        }
+        if (stats.isEmpty()) {
+            return;
+        }
+        long commands = stats.stream().mapToLong(Stat::count).sum();
+        Duration total = stats.stream().map(Stat::total).reduce(Duration.ZERO, Duration::plus);
+        System.out.println("WebDriver commands over the suite: " + commands + " totalling " + total.toMillis() + " ms");
+        stats.forEach(stat -> System.out.println("  " + stat));
+    }
+}
@@ -0,0 +1,91 @@
+package miniproject;
+
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the {@link ConsentCookies} across runs in {@code target/consent-cookies.tsv} (override
+ * with {@code consent.cookies.file}): loaded once per JVM, saved at exit when a run learned them.
+ */
+final class ConsentCookieFile {
+
+    private static final Path FILE = Path.of(System.getProperty("consent.cookies.file", "target/consent-cookies.tsv"));
+
+    private static boolean loaded;
+
+    private ConsentCookieFile() {
+        // utility
+    }
+
+    static synchronized void loadOnce() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        List<Cookie> stored = load();
+        ConsentCookies.remember(stored);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            List<Cookie> known = ConsentCookies.known();
+            if (!known.isEmpty() && !known.equals(stored)) {
+                save(known);
+            }
+        }, "consent-cookies-save"));
+    }
+
+    private static List<Cookie> load() {
+        if (!Files.exists(FILE)) {
+            return List.of();
+        }
+        try {
+            List<Cookie> cookies = new ArrayList<>();
+            for (String line : Files.readAllLines(FILE)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                Date expiry = fields[4].isEmpty() ? null : new Date(Long.parseLong(fields[4]));
+                if (expiry != null && expiry.before(new Date())) {
+                    // let the next acceptance learn a fresh one
+                    return List.of();
+                }
+                cookies.add(new Cookie.Builder(fields[0], fields[1])
+                        .domain(fields[2])
+                        .path(fields[3])
+                        .expiresOn(expiry)
+                        .isSecure(Boolean.parseBoolean(fields[5]))
+                        .build());
+            }
+            return List.copyOf(cookies);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load consent cookies: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static void save(List<Cookie> cookies) {
+        List<String> lines = cookies.stream()
+                .map(cookie -> String.join("\t",
+                        cookie.getName(),
+                        cookie.getValue(),
+                        cookie.getDomain(),
+                        cookie.getPath(),
+                        cookie.getExpiry() != null ? Long.toString(cookie.getExpiry().getTime()) : "",
+                        Boolean.toString(cookie.isSecure())))
+                .toList();
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(FILE.toAbsolutePath().getParent(), "consent-cookies", ".tmp");
+            Files.write(tmp, lines);
+            Files.move(tmp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save consent cookies: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package miniproject;
+
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+
+/**
+ * Raw DevTools events as plain maps, so listeners do not depend on a particular CDP version.
+ */
+final class DevToolsEvents {
+
+    private DevToolsEvents() {
+        // utility
+    }
+
+    @SuppressWarnings("unchecked")
+    static Event<Map<String, Object>> named(String method) {
+        return new Event<>(method, input -> (Map<String, Object>) input.read(Json.MAP_TYPE));
+    }
+}
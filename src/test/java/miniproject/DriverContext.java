@@ -0,0 +1,35 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The WebDriver bound to the test running on the current thread.
+ *
+ * <p>Backed by a {@link ThreadLocal} rather than a {@code ScopedValue}: JUnit opens and closes
+ * the driver in separate {@code @BeforeEach}/{@code @AfterEach} calls, so there is no single
+ * block to bind a scoped value around. Thread locals work the same on platform and virtual threads.
+ */
+public final class DriverContext {
+
+    private static final ThreadLocal<WebDriver> CURRENT = new ThreadLocal<>();
+
+    private DriverContext() {
+        // utility
+    }
+
+    public static void bind(WebDriver webDriver) {
+        CURRENT.set(webDriver);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Driver of the current test, or {@code null} outside a test.
+     */
+    public static @Nullable WebDriver current() {
+        return CURRENT.get();
+    }
+}
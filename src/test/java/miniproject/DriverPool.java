@@ -0,0 +1,288 @@
+package miniproject;
+
+import org.apache.commons.lang3.Validate;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps warm WebDriver sessions so tests do not pay browser startup and shutdown.
+ *
+ * <p>In {@link Mode#POOLED} mode sessions are reset between tests and reused until they
+ * reach {@code maxUses} or stop responding. In {@link Mode#ISOLATED} mode every test gets
+ * a fresh browser, but the next one is launched while the current test is still running.
+ * Retired sessions are always quit in the background.
+ */
+public final class DriverPool {
+
+    public enum Mode { POOLED, ISOLATED }
+
+    private static final String ABOUT_BLANK = "about:blank";
+
+    private final Supplier<WebDriver> factory;
+    private final int size;
+    private final int maxUses;
+    private final Mode mode;
+
+    private final BlockingDeque<Session> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final ExecutorService launcher = Executors.newCachedThreadPool(daemon("driver-launcher"));
+    private final ExecutorService reaper = Executors.newCachedThreadPool(daemon("driver-reaper"));
+
+    // ISOLATED mode: the browser that the next acquire() will get
+    private CompletableFuture<WebDriver> next;
+
+    public DriverPool(Supplier<WebDriver> factory, int size, int maxUses, Mode mode) {
+        Validate.notNull(factory, "factory is required");
+        Validate.isTrue(size > 0, "size must be positive");
+        Validate.isTrue(maxUses > 0, "maxUses must be positive");
+        this.factory = factory;
+        this.size = size;
+        this.maxUses = maxUses;
+        this.mode = Validate.notNull(mode, "mode is required");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+        if (mode == Mode.POOLED) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Pool configured by {@code driver.pool.size} (default {@code ui.parallelism}, the number
+     * of tests running at once, or 1), {@code driver.pool.maxUses} (default 20) and
+     * {@code driver.pool.mode} ({@code pooled} or {@code isolated}).
+     */
+    public static DriverPool fromSystemProperties(Supplier<WebDriver> factory) {
+        int size = Integer.getInteger("driver.pool.size", Integer.getInteger("ui.parallelism", 1));
+        int maxUses = Integer.getInteger("driver.pool.maxUses", 20);
+        Mode mode = Mode.valueOf(System.getProperty("driver.pool.mode", "pooled").trim().toUpperCase());
+        return new DriverPool(factory, size, maxUses, mode);
+    }
+
+    /**
+     * Borrow a session. Blocks while all {@code size} sessions are in use.
+     */
+    public Session acquire() {
+        return mode == Mode.ISOLATED ? acquireIsolated() : acquirePooled();
+    }
+
+    /**
+     * Give a session back. Healthy sessions are reset and kept; everything else is quit
+     * in the background.
+     */
+    public void release(Session session) {
+        if (session == null) {
+            return;
+        }
+        session.uses++;
+
+        if (mode == Mode.POOLED && session.uses < maxUses && reset(session.driver)) {
+            idle.offerFirst(session);
+        } else {
+            retire(session);
+        }
+    }
+
+    // ===== Pooled =====
+
+    private Session acquirePooled() {
+        while (true) {
+            Session session = idle.pollFirst();
+            if (session == null) {
+                if (reserveSlot()) {
+                    return new Session(create());
+                }
+                session = pollIdle();
+                if (session == null) {
+                    continue;
+                }
+            }
+            if (isHealthy(session.driver)) {
+                return session;
+            }
+            System.out.println("Discarding unhealthy driver session after " + session.uses + " uses");
+            retire(session);
+        }
+    }
+
+    /**
+     * Start the configured number of sessions in the background so the first tests find them warm.
+     */
+    private void warmUp() {
+        while (reserveSlot()) {
+            CompletableFuture.supplyAsync(factory, launcher).whenComplete((driver, error) -> {
+                if (error != null) {
+                    live.decrementAndGet();
+                    System.err.println("Could not pre-launch driver: " + error.getMessage());
+                } else {
+                    idle.offerLast(new Session(driver));
+                }
+            });
+        }
+    }
+
+    private WebDriver create() {
+        try {
+            return factory.get();
+        } catch (RuntimeException e) {
+            live.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = live.get();
+            if (current >= size) {
+                return false;
+            }
+        } while (!live.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // Short poll so a failed warm-up launch frees its slot instead of blocking forever
+    private Session pollIdle() {
+        try {
+            return idle.pollFirst(250, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a driver session", e);
+        }
+    }
+
+    // ===== Isolated =====
+
+    private Session acquireIsolated() {
+        CompletableFuture<WebDriver> ready;
+        synchronized (this) {
+            ready = next != null ? next : launch();
+            next = launch();
+        }
+        return new Session(ready.join());
+    }
+
+    private CompletableFuture<WebDriver> launch() {
+        live.incrementAndGet();
+        return CompletableFuture.supplyAsync(factory, launcher)
+                .whenComplete((_, error) -> {
+                    if (error != null) {
+                        live.decrementAndGet();
+                    }
+                });
+    }
+
+    // ===== Session lifecycle =====
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bring a session back to a blank state: one window, only consent cookies, no storage, about:blank.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(handles.getFirst());
+
+            if (driver instanceof JavascriptExecutor js) {
+                js.executeScript("try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+            }
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            // Consent survives the reset so the next test does not see the privacy prompt
+            ConsentCookies.seed(driver);
+
+            driver.get(ABOUT_BLANK);
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("Could not reset driver session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void retire(Session session) {
+        live.decrementAndGet();
+        reaper.execute(() -> quitQuietly(session.driver));
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            System.err.println("Could not quit driver: " + e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        launcher.shutdown();
+        try {
+            // let in-flight launches finish so their browsers get quit too
+            launcher.awaitTermination(30, TimeUnit.SECONDS);
+
+            List<Session> remaining = new ArrayList<>();
+            idle.drainTo(remaining);
+            remaining.forEach(session -> reaper.execute(() -> quitQuietly(session.driver)));
+
+            synchronized (this) {
+                if (next != null && !next.isCompletedExceptionally()) {
+                    WebDriver driver = next.getNow(null);
+                    if (driver != null) {
+                        reaper.execute(() -> quitQuietly(driver));
+                    }
+                }
+            }
+
+            reaper.shutdown();
+            reaper.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return Thread.ofPlatform().name(name + "-", 0).daemon().factory();
+    }
+
+    /**
+     * A borrowed browser session.
+     */
+    public static final class Session {
+
+        private final WebDriver driver;
+        private int uses;
+
+        private Session(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver driver() {
+            return driver;
+        }
+    }
+}
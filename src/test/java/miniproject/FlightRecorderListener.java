@@ -0,0 +1,109 @@
+package miniproject;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Emits {@link FlightEvents} for {@code get}, {@code click} and {@code executeScript} calls on
+ * the decorated driver. The calls do not nest, so one in-flight event per kind and thread is enough.
+ * A {@code get} inside a page object's navigation is left to {@link BasePage}, which records it.
+ */
+public final class FlightRecorderListener implements WebDriverListener {
+
+    private static final ThreadLocal<FlightEvents.Navigation> NAVIGATION = new ThreadLocal<>();
+    private static final ThreadLocal<FlightEvents.Click> CLICK = new ThreadLocal<>();
+    private static final ThreadLocal<FlightEvents.Script> SCRIPT = new ThreadLocal<>();
+
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        if (BasePage.isNavigating()) {
+            return;
+        }
+        var event = new FlightEvents.Navigation();
+        if (event.isEnabled()) {
+            event.begin();
+            NAVIGATION.set(event);
+        }
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        commitNavigation(url, false);
+    }
+
+    @Override
+    public void beforeClick(WebElement element) {
+        var event = new FlightEvents.Click();
+        if (event.isEnabled()) {
+            event.begin();
+            CLICK.set(event);
+        }
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        commitClick(element, false);
+    }
+
+    @Override
+    public void beforeExecuteScript(WebDriver driver, String script, Object[] args) {
+        var event = new FlightEvents.Script();
+        if (event.isEnabled()) {
+            event.begin();
+            SCRIPT.set(event);
+        }
+    }
+
+    @Override
+    public void afterExecuteScript(WebDriver driver, String script, Object[] args, Object result) {
+        commitScript(script, args, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        switch (method.getName()) {
+            case "click" -> commitClick(target, true);
+            case "executeScript" -> commitScript((String) args[0], (Object[]) args[1], true);
+            case "get" -> commitNavigation((String) args[0], true);
+            default -> {
+                // not instrumented
+            }
+        }
+    }
+
+    private static void commitNavigation(String url, boolean failed) {
+        FlightEvents.Navigation event = NAVIGATION.get();
+        NAVIGATION.remove();
+        if (event != null && event.shouldCommit()) {
+            event.action = "WebDriver.get";
+            event.url = url;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static void commitClick(Object element, boolean failed) {
+        FlightEvents.Click event = CLICK.get();
+        CLICK.remove();
+        if (event != null && event.shouldCommit()) {
+            event.element = String.valueOf(element);
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static void commitScript(String script, Object[] args, boolean failed) {
+        FlightEvents.Script event = SCRIPT.get();
+        SCRIPT.remove();
+        if (event != null && event.shouldCommit()) {
+            event.script = FlightEvents.abbreviate(script);
+            event.arguments = args == null ? 0 : args.length;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
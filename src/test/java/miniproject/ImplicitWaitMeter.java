@@ -0,0 +1,66 @@
+package miniproject;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Counts the time spent in element lookups that found nothing. With an implicit wait
+ * configured, each of those lookups blocks for the full implicit timeout, so this is
+ * the time the test lost to implicit waits. Totals are kept per thread, i.e. per test.
+ */
+public final class ImplicitWaitMeter implements WebDriverListener {
+
+    public record Totals(int failedLookups, Duration lost) {
+    }
+
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Forget everything counted on this thread so far.
+     */
+    public static void reset() {
+        TOTALS.remove();
+    }
+
+    public static Totals current() {
+        long[] totals = TOTALS.get();
+        return new Totals((int) totals[0], Duration.ofNanos(totals[1]));
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isLookup(method)) {
+            START.get()[0] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (method.getName().equals("findElements") && result instanceof List<?> found && found.isEmpty()) {
+            addMiss();
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (method.getName().equals("findElement") && e.getCause() instanceof NoSuchElementException) {
+            addMiss();
+        }
+    }
+
+    private static boolean isLookup(Method method) {
+        return method.getName().equals("findElement") || method.getName().equals("findElements");
+    }
+
+    private static void addMiss() {
+        long[] totals = TOTALS.get();
+        totals[0]++;
+        totals[1] += System.nanoTime() - START.get()[0];
+    }
+}
@@ -0,0 +1,83 @@
+package miniproject;
+
+import java.time.Duration;
+
+/**
+ * Log-bucketed latency histogram: four buckets per power of two, so any percentile is
+ * within about 20% of the true value, in a fixed 2 KB no matter how many samples.
+ * Not thread-safe; each thread records into its own and they are merged afterwards.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    void record(long nanos) {
+        long value = Math.max(1, nanos);
+        counts[bucket(value)]++;
+        count++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    long count() {
+        return count;
+    }
+
+    Duration total() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    Duration max() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    /**
+     * Upper bound of the bucket holding the {@code percentile}th sample (0-100).
+     */
+    Duration percentile(double percentile) {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(upperBound(i), maxNanos));
+            }
+        }
+        return max();
+    }
+
+    // exponent * 4 + the two bits after the leading one
+    private static int bucket(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < 2) {
+            return (int) value;
+        }
+        return exponent * SUB_BUCKETS + (int) ((value >>> (exponent - 2)) & 3);
+    }
+
+    private static long upperBound(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        if (exponent < 2) {
+            return bucket;
+        }
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - 2)) - 1;
+    }
+}
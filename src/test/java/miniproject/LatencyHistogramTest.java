@@ -0,0 +1,66 @@
+package miniproject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        for (long nanos = 1; nanos <= 7; nanos++) {
+            var histogram = new LatencyHistogram();
+            histogram.record(nanos);
+            histogram.record(1_000);
+            Assertions.assertEquals(Duration.ofNanos(nanos), histogram.percentile(50), "bucket of " + nanos + " ns");
+        }
+    }
+
+    @Test
+    void testPercentileIsUpperBoundOfBucket() {
+        // four buckets per power of two: 8-9, 10-11, 12-13, 14-15, 16-19, ...
+        long[][] edges = {{8, 9}, {9, 9}, {10, 11}, {15, 15}, {16, 19}, {19, 19}, {20, 23}, {1_000, 1_023}};
+        for (long[] edge : edges) {
+            var histogram = new LatencyHistogram();
+            histogram.record(edge[0]);
+            histogram.record(1_000_000);
+            Assertions.assertEquals(Duration.ofNanos(edge[1]), histogram.percentile(50), "bucket of " + edge[0] + " ns");
+        }
+    }
+
+    @Test
+    void testPercentileRanks() {
+        var histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1);
+        }
+        for (int i = 0; i < 5; i++) {
+            histogram.record(1_000);
+            histogram.record(2_000);
+        }
+        Assertions.assertEquals(Duration.ofNanos(1), histogram.percentile(0), "p0");
+        Assertions.assertEquals(Duration.ofNanos(1), histogram.percentile(90), "p90");
+        Assertions.assertEquals(Duration.ofNanos(1_023), histogram.percentile(95), "p95");
+        // the last bucket reaches 2047 but nothing above the max was seen
+        Assertions.assertEquals(Duration.ofNanos(2_000), histogram.percentile(96), "p96");
+        Assertions.assertEquals(Duration.ofNanos(2_000), histogram.percentile(100), "p100");
+    }
+
+    @Test
+    void testEmptyAndMerged() {
+        var empty = new LatencyHistogram();
+        Assertions.assertEquals(Duration.ZERO, empty.percentile(99), "empty p99");
+
+        var first = new LatencyHistogram();
+        first.record(0); // counted as 1 ns
+        var second = new LatencyHistogram();
+        second.record(3);
+        second.record(5);
+        first.merge(second);
+        Assertions.assertEquals(3L, first.count(), "merged count");
+        Assertions.assertEquals(Duration.ofNanos(9), first.total(), "merged total");
+        Assertions.assertEquals(Duration.ofNanos(5), first.max(), "merged max");
+        Assertions.assertEquals(Duration.ofNanos(3), first.percentile(50), "merged p50");
+    }
+}
@@ -0,0 +1,464 @@
+package miniproject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-JVM stand-in for the demo store, serving just enough of its markup for the page objects:
+ * header, menus, category listings with layered navigation and sorting, product pages,
+ * registration and login, wishlist and cart. Enabled with {@code site.local=true}, which points
+ * {@link PageType#baseUrl()} at it.
+ *
+ * <p>State lives in memory for the life of the JVM: customers with their wishlists, and a cart
+ * per customer (or per browser session for guests), keyed by the {@code frontend} cookie.
+ * Markup is rendered by {@link LocalStorefrontHtml}.
+ */
+public final class LocalStorefront {
+
+    // ===== Catalog =====
+
+    record Color(String id, String label) {
+    }
+
+    record Product(int id, String urlKey, String name, String category, String type,
+                   int priceCents, @Nullable Integer specialCents, List<Color> colors, List<String> sizes) {
+
+        int finalCents() {
+            return specialCents != null ? specialCents : priceCents;
+        }
+
+        boolean isOnSale() {
+            return specialCents != null;
+        }
+    }
+
+    static final Color BLACK = new Color("20", "Black");
+    static final Color BLUE = new Color("21", "Blue");
+    static final Color RED = new Color("22", "Red");
+    static final Color WHITE = new Color("23", "White");
+    static final List<Color> COLORS = List.of(BLACK, BLUE, RED, WHITE);
+
+    private static final List<String> SIZES = List.of("S", "M", "L");
+
+    static final List<Product> CATALOG = List.of(
+            new Product(401, "elizabeth-knit-top", "Elizabeth Knit Top", "women", "Tops", 21000, null, List.of(RED, WHITE), SIZES),
+            new Product(402, "lafayette-convertible-dress", "Lafayette Convertible Dress", "women", "Dresses", 34000, 27000, List.of(BLACK, BLUE), SIZES),
+            new Product(403, "tori-tank", "Tori Tank", "women", "Tops", 6000, null, List.of(BLACK, WHITE), SIZES),
+            new Product(404, "essex-pencil-skirt", "Essex Pencil Skirt", "women", "Bottoms", 29000, null, List.of(BLACK), SIZES),
+            new Product(405, "delancy-cardigan-sweater", "Delancy Cardigan Sweater", "women", "Tops", 27500, 19500, List.of(RED, BLUE), SIZES),
+            new Product(406, "ludlow-oxford-top", "Ludlow Oxford Top", "women", "Tops", 18500, null, List.of(WHITE), SIZES),
+            new Product(410, "chelsea-tee", "Chelsea Tee", "men", "Tops", 7500, null, List.of(BLACK, BLUE, WHITE), SIZES),
+            new Product(411, "linen-blazer", "Linen Blazer", "men", "Blazers", 45500, 32000, List.of(BLUE, WHITE), SIZES),
+            new Product(412, "plaid-cotton-shirt", "Plaid Cotton Shirt", "men", "Tops", 16000, null, List.of(BLACK, RED), SIZES),
+            new Product(413, "french-cuff-cotton-twill-oxford", "French Cuff Cotton Twill Oxford", "men", "Tops", 19000, null, List.of(BLUE, WHITE), SIZES),
+            new Product(414, "slim-fit-dobby-oxford-shirt", "Slim fit Dobby Oxford Shirt", "men", "Tops", 14000, 9800, List.of(BLACK, BLUE), SIZES),
+            new Product(415, "flat-front-trouser", "Flat Front Trouser", "men", "Bottoms", 9500, null, List.of(BLACK), SIZES)
+    );
+
+    // ===== State =====
+
+    static final class Customer {
+        final String email;
+        final String password;
+        final String firstName;
+        final String middleName;
+        final String lastName;
+        final List<WishlistItem> wishlist = new ArrayList<>();
+        final List<CartItem> cart = new ArrayList<>();
+
+        Customer(String email, String password, String firstName, String middleName, String lastName) {
+            this.email = email;
+            this.password = password;
+            this.firstName = firstName;
+            this.middleName = middleName;
+            this.lastName = lastName;
+        }
+
+        String fullName() {
+            return String.join(" ", List.of(firstName, middleName, lastName).stream().filter(s -> !s.isBlank()).toList());
+        }
+    }
+
+    record WishlistItem(int id, Product product) {
+    }
+
+    static final class CartItem {
+        final int id;
+        final Product product;
+        final Color color;
+        final String size;
+        int qty;
+
+        CartItem(int id, Product product, Color color, String size, int qty) {
+            this.id = id;
+            this.product = product;
+            this.color = color;
+            this.size = size;
+            this.qty = qty;
+        }
+
+        int rowTotalCents() {
+            return product.finalCents() * qty;
+        }
+    }
+
+    static final class Session {
+        @Nullable Customer customer;
+        final List<CartItem> guestCart = new ArrayList<>();
+        @Nullable String successMessage;
+        @Nullable String errorMessage;
+
+        List<CartItem> cart() {
+            return customer != null ? customer.cart : guestCart;
+        }
+    }
+
+    private static final String SESSION_COOKIE = "frontend";
+
+    private static final Map<String, Customer> CUSTOMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final AtomicInteger IDS = new AtomicInteger(1000);
+
+    private static @Nullable HttpServer server;
+
+    private LocalStorefront() {
+        // utility
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("site.local");
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Start the stand-in (once per JVM) on {@code site.local.port} (default: any free port)
+     * and point {@code site.baseUrl} at it. Returns the base URL.
+     */
+    public static synchronized String start() {
+        if (server == null) {
+            try {
+                var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.getInteger("site.local.port", 0));
+                server = HttpServer.create(address, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start local storefront", e);
+            }
+            server.createContext("/", LocalStorefront::handle);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+            System.setProperty("site.baseUrl", baseUrl);
+            System.out.println("Local storefront serving " + baseUrl);
+        }
+        return PageType.baseUrl();
+    }
+
+    // ===== Routing =====
+
+    private static final Pattern PRODUCT_PAGE = Pattern.compile("/([a-z0-9-]+)\\.html");
+    private static final Pattern WISHLIST_ADD = Pattern.compile("/wishlist/index/add/product/(\\d+)/?");
+    private static final Pattern CART_DELETE = Pattern.compile("/checkout/cart/delete/id/(\\d+)/?");
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            Session session = session(exchange);
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+            boolean post = "POST".equals(exchange.getRequestMethod());
+            Map<String, String> form = post
+                    ? parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    : Map.of();
+
+            synchronized (LocalStorefront.class) {
+                route(exchange, session, path, query, post, form);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Local storefront failed on " + exchange.getRequestURI() + ": " + e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void route(HttpExchange exchange, Session session, String path, Map<String, String> query,
+                              boolean post, Map<String, String> form) throws IOException {
+        Matcher matcher;
+        switch (path) {
+            case "/" -> html(exchange, LocalStorefrontHtml.home(session));
+            case "/women.html", "/men.html", "/sale.html" -> html(exchange, listing(session, path.substring(1, path.indexOf('.')), query));
+            case "/customer/account/login/" -> html(exchange, LocalStorefrontHtml.login(session));
+            case "/customer/account/loginPost/" -> login(exchange, session, form);
+            case "/customer/account/create/" -> html(exchange, LocalStorefrontHtml.register(session));
+            case "/customer/account/createpost/" -> register(exchange, session, form);
+            case "/customer/account/logout/" -> {
+                session.customer = null;
+                redirect(exchange, "/");
+            }
+            case "/customer/account/", "/customer/account/index/" -> {
+                if (requireLogin(exchange, session)) {
+                    html(exchange, LocalStorefrontHtml.account(session));
+                }
+            }
+            case "/wishlist/", "/wishlist/index/index/" -> {
+                if (requireLogin(exchange, session)) {
+                    html(exchange, LocalStorefrontHtml.wishlist(session));
+                }
+            }
+            case "/wishlist/index/allcart/" -> {
+                if (requireLogin(exchange, session)) {
+                    for (WishlistItem item : List.copyOf(session.customer.wishlist)) {
+                        addToCart(session, item.product(), null, null, 1);
+                    }
+                    session.customer.wishlist.clear();
+                    redirect(exchange, "/checkout/cart/");
+                }
+            }
+            case "/checkout/cart/" -> html(exchange, LocalStorefrontHtml.cart(session));
+            case "/checkout/cart/add/" -> {
+                Product product = product(Integer.parseInt(form.getOrDefault("product", "0"))).orElse(null);
+                if (product == null || !post) {
+                    notFound(exchange);
+                    return;
+                }
+                addToCart(session, product, form.get("color"), form.get("size"), Integer.parseInt(form.getOrDefault("qty", "1")));
+                String wishlistItem = form.getOrDefault("wishlist_item", "");
+                if (session.customer != null && !wishlistItem.isEmpty()) {
+                    session.customer.wishlist.removeIf(item -> item.id() == Integer.parseInt(wishlistItem));
+                }
+                session.successMessage = product.name() + " was added to your shopping cart.";
+                redirect(exchange, "/checkout/cart/");
+            }
+            case "/checkout/cart/updatePost/" -> {
+                for (CartItem item : session.cart()) {
+                    String qty = form.get("cart[" + item.id + "][qty]");
+                    if (qty != null && !qty.isBlank()) {
+                        item.qty = Math.max(0, Integer.parseInt(qty.trim()));
+                    }
+                }
+                session.cart().removeIf(item -> item.qty == 0);
+                redirect(exchange, "/checkout/cart/");
+            }
+            default -> {
+                if ((matcher = WISHLIST_ADD.matcher(path)).matches()) {
+                    if (requireLogin(exchange, session)) {
+                        product(Integer.parseInt(matcher.group(1))).ifPresent(product -> {
+                            session.customer.wishlist.add(new WishlistItem(IDS.incrementAndGet(), product));
+                            session.successMessage = product.name() + " has been added to your wishlist.";
+                        });
+                        redirect(exchange, "/wishlist/");
+                    }
+                } else if ((matcher = CART_DELETE.matcher(path)).matches()) {
+                    int id = Integer.parseInt(matcher.group(1));
+                    session.cart().removeIf(item -> item.id == id);
+                    redirect(exchange, "/checkout/cart/");
+                } else if ((matcher = PRODUCT_PAGE.matcher(path)).matches()) {
+                    String urlKey = matcher.group(1);
+                    Optional<Product> product = CATALOG.stream().filter(p -> p.urlKey().equals(urlKey)).findFirst();
+                    if (product.isPresent()) {
+                        html(exchange, LocalStorefrontHtml.product(session, product.get(), query.getOrDefault("wishlist_item", "")));
+                    } else {
+                        notFound(exchange);
+                    }
+                } else {
+                    notFound(exchange);
+                }
+            }
+        }
+    }
+
+    // ===== Actions =====
+
+    private static void login(HttpExchange exchange, Session session, Map<String, String> form) throws IOException {
+        Customer customer = CUSTOMERS.get(form.getOrDefault("login[username]", "").trim().toLowerCase());
+        if (customer == null || !customer.password.equals(form.get("login[password]"))) {
+            session.errorMessage = "Invalid login or password.";
+            redirect(exchange, "/customer/account/login/");
+            return;
+        }
+        session.customer = customer;
+        customer.cart.addAll(session.guestCart);
+        session.guestCart.clear();
+        redirect(exchange, "/customer/account/");
+    }
+
+    private static void register(HttpExchange exchange, Session session, Map<String, String> form) throws IOException {
+        String email = form.getOrDefault("email", "").trim().toLowerCase();
+        String password = form.getOrDefault("password", "");
+        if (email.isEmpty() || password.isEmpty() || !password.equals(form.get("confirmation"))) {
+            session.errorMessage = "Please make sure your passwords match.";
+            redirect(exchange, "/customer/account/create/");
+            return;
+        }
+        if (CUSTOMERS.containsKey(email)) {
+            session.errorMessage = "There is already an account with this email address.";
+            redirect(exchange, "/customer/account/create/");
+            return;
+        }
+
+        var customer = new Customer(email, password, form.getOrDefault("firstname", ""),
+                form.getOrDefault("middlename", ""), form.getOrDefault("lastname", ""));
+        CUSTOMERS.put(email, customer);
+        session.customer = customer;
+        session.successMessage = "Thank you for registering with Madison Island.";
+        redirect(exchange, "/customer/account/");
+    }
+
+    private static void addToCart(Session session, Product product, @Nullable String colorId, @Nullable String size, int qty) {
+        Color color = product.colors().stream().filter(c -> c.id().equals(colorId)).findFirst()
+                .orElse(product.colors().getFirst());
+        String chosenSize = size != null && product.sizes().contains(size) ? size : product.sizes().getFirst();
+
+        for (CartItem item : session.cart()) {
+            if (item.product.equals(product) && item.color.equals(color) && item.size.equals(chosenSize)) {
+                item.qty += qty;
+                return;
+            }
+        }
+        session.cart().add(new CartItem(IDS.incrementAndGet(), product, color, chosenSize, qty));
+    }
+
+    private static boolean requireLogin(HttpExchange exchange, Session session) throws IOException {
+        if (session.customer != null) {
+            return true;
+        }
+        redirect(exchange, "/customer/account/login/");
+        return false;
+    }
+
+    // ===== Listings =====
+
+    record Listing(String category, String title, String path, Map<String, String> query,
+                   List<Product> unfiltered, List<Product> products) {
+    }
+
+    private static String listing(Session session, String category, Map<String, String> query) {
+        List<Product> unfiltered = CATALOG.stream()
+                .filter(p -> category.equals("sale") ? p.isOnSale() : p.category().equals(category))
+                .toList();
+
+        List<Product> products = new ArrayList<>(unfiltered.stream()
+                .filter(p -> matchesFilters(p, query))
+                .toList());
+
+        Comparator<Product> order = switch (query.getOrDefault("order", "position")) {
+            case "name" -> Comparator.comparing(Product::name);
+            case "price" -> Comparator.comparingInt(Product::finalCents);
+            default -> Comparator.comparingInt(Product::id);
+        };
+        products.sort("desc".equals(query.get("dir")) ? order.reversed() : order);
+
+        String limit = query.get("limit");
+        List<Product> page = limit != null ? products.subList(0, Math.min(products.size(), Integer.parseInt(limit))) : products;
+
+        String title = Character.toUpperCase(category.charAt(0)) + category.substring(1);
+        return LocalStorefrontHtml.listing(session, new Listing(category, title, "/" + category + ".html", query, unfiltered, page));
+    }
+
+    static boolean matchesFilters(Product product, Map<String, String> query) {
+        String color = query.get("color");
+        if (color != null && product.colors().stream().noneMatch(c -> c.id().equals(color))) {
+            return false;
+        }
+        String type = query.get("type");
+        if (type != null && !product.type().equals(type)) {
+            return false;
+        }
+        String price = query.get("price");
+        if (price != null) {
+            String[] range = price.split("-", -1);
+            int from = range[0].isEmpty() ? 0 : Integer.parseInt(range[0]) * 100;
+            int to = range.length < 2 || range[1].isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(range[1]) * 100;
+            return product.finalCents() >= from && product.finalCents() < to;
+        }
+        return true;
+    }
+
+    static Optional<Product> product(int id) {
+        return CATALOG.stream().filter(p -> p.id() == id).findFirst();
+    }
+
+    // ===== HTTP =====
+
+    private static Session session(HttpExchange exchange) {
+        String cookies = String.join(";", exchange.getRequestHeaders().getOrDefault("Cookie", List.of()));
+        for (String cookie : cookies.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                Session existing = SESSIONS.get(pair[1]);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + id + "; Path=/; HttpOnly");
+        var session = new Session();
+        SESSIONS.put(id, session);
+        return session;
+    }
+
+    static Map<String, String> parseForm(@Nullable String encoded) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            values.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return values;
+    }
+
+    // Gzipped like the live store's pages, so recording against it covers compressed responses
+    private static void html(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            var compressed = new ByteArrayOutputStream();
+            try (var gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void notFound(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(404, -1);
+    }
+}
@@ -0,0 +1,512 @@
+package miniproject;
+
+import miniproject.LocalStorefront.CartItem;
+import miniproject.LocalStorefront.Color;
+import miniproject.LocalStorefront.Listing;
+import miniproject.LocalStorefront.Product;
+import miniproject.LocalStorefront.Session;
+import miniproject.LocalStorefront.WishlistItem;
+import org.jspecify.annotations.Nullable;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Markup of the {@link LocalStorefront}, laid out like the demo store's Magento theme so the
+ * page objects' selectors, titles and computed styles hold against it.
+ */
+final class LocalStorefrontHtml {
+
+    private static final String STYLE = """
+            body { font-family: sans-serif; color: #636363; margin: 0; }
+            a { color: #3399cc; text-decoration: none; }
+            .header-language-background { background: #4c4c4c; }
+            .welcome-msg { color: #fff; text-transform: uppercase; margin: 0; padding: 6px 12px; }
+            .page-header-container { display: flex; gap: 24px; align-items: center; padding: 12px; position: relative; }
+            .skip-link .label { text-transform: uppercase; }
+            #header-account { display: none; position: absolute; right: 12px; top: 48px; background: #fff; border: 1px solid #ccc; }
+            #header-account.skip-active { display: block; }
+            .nav-primary { list-style: none; display: flex; gap: 24px; margin: 0; padding: 0; }
+            .nav-primary li.level0 { position: relative; }
+            .nav-primary li.level0 > ul { display: none; position: absolute; list-style: none; background: #fff; padding: 6px; }
+            .nav-primary li.level0:hover > ul { display: block; }
+            .col3-layout .main { display: flex; flex-direction: column; }
+            .col-main { padding: 12px; }
+            .product-name a { color: #333333; }
+            .product-name a:hover { color: #3399cc; }
+            .price-box .price { color: #3399cc; }
+            .old-price .price { color: #a0a0a0; text-decoration: line-through; }
+            .products-grid { list-style: none; display: flex; flex-wrap: wrap; gap: 24px; padding: 0; }
+            .products-grid li.item { width: 220px; }
+            .configurable-swatch-list { list-style: none; display: flex; gap: 4px; padding: 0; }
+            .configurable-swatch-list li a { display: inline-block; border: 1px solid #cccccc; padding: 1px; }
+            .configurable-swatch-list li.selected a { border-color: #3399cc; }
+            .swatch-label img { display: block; width: 20px; height: 20px; }
+            .success-msg { color: #11b400; }
+            .error-msg { color: #df280a; }
+            """;
+
+    // Account dropdown and swatch pickers; setLocation is how the theme's sorter navigates
+    private static final String SCRIPT = """
+            function setLocation(url) { window.location.href = url; }
+            function toggleAccount() {
+                document.getElementById('header-account').classList.toggle('skip-active');
+                return false;
+            }
+            function pickSwatch(a, input) {
+                a.closest('ul').querySelectorAll('li').forEach(function (li) { li.classList.remove('selected'); });
+                a.parentNode.classList.add('selected');
+                document.getElementById(input).value = a.getAttribute('data-value');
+                document.getElementById('select_label_' + input).textContent = a.title;
+                return false;
+            }
+            """;
+
+    private LocalStorefrontHtml() {
+        // utility
+    }
+
+    // ===== Pages =====
+
+    static String home(Session session) {
+        return page(session, "Tealium Ecommerce Demo", "cms-index-index", false, """
+                <div class="page-title"><h1>Madison Island</h1></div>
+                <p>Local stand-in of the demo store. Browse <a href="/women.html">Women</a>,
+                <a href="/men.html">Men</a> or the <a href="/sale.html">Sale</a>.</p>
+                """);
+    }
+
+    static String login(Session session) {
+        return page(session, "Customer Login", "customer-account-login", false, """
+                <div class="account-login">
+                  <div class="page-title"><h1>Login or Create an Account</h1></div>
+                  <form action="/customer/account/loginPost/" method="post" id="login-form">
+                    <ul class="form-list">
+                      <li><label for="email">Email Address</label>
+                        <input type="email" name="login[username]" id="email" class="input-text" title="Email Address"></li>
+                      <li><label for="pass">Password</label>
+                        <input type="password" name="login[password]" id="pass" class="input-text" title="Password"></li>
+                    </ul>
+                    <div class="buttons-set">
+                      <button type="submit" class="button" title="Login" name="send" id="send2"><span><span>Login</span></span></button>
+                    </div>
+                  </form>
+                  <p><a href="/customer/account/create/">Create an Account</a></p>
+                </div>
+                """);
+    }
+
+    static String register(Session session) {
+        return page(session, "Create New Customer Account", "customer-account-create", false, """
+                <div class="account-create">
+                  <div class="page-title"><h1>Create an Account</h1></div>
+                  <form action="/customer/account/createpost/" method="post" id="form-validate">
+                    <ul class="form-list">
+                      <li><label for="firstname">First Name</label><input type="text" id="firstname" name="firstname" class="input-text"></li>
+                      <li><label for="middlename">Middle Name/Initial</label><input type="text" id="middlename" name="middlename" class="input-text"></li>
+                      <li><label for="lastname">Last Name</label><input type="text" id="lastname" name="lastname" class="input-text"></li>
+                      <li><label for="email_address">Email Address</label><input type="email" id="email_address" name="email" class="input-text"></li>
+                      <li><label for="password">Password</label><input type="password" id="password" name="password" class="input-text"></li>
+                      <li><label for="confirmation">Confirm Password</label><input type="password" id="confirmation" name="confirmation" class="input-text"></li>
+                    </ul>
+                    <div class="buttons-set">
+                      <button type="submit" title="Register" class="button"><span><span>Register</span></span></button>
+                    </div>
+                  </form>
+                </div>
+                """);
+    }
+
+    static String account(Session session) {
+        return page(session, "My Account", "customer-account-index", false, """
+                <div class="my-account"><div class="dashboard">
+                  <div class="page-title"><h1>My Dashboard</h1></div>
+                  <div class="box-hello"><p class="hello"><strong>Hello, %s!</strong></p></div>
+                </div></div>
+                """.formatted(esc(session.customer.fullName())));
+    }
+
+    static String listing(Session session, Listing listing) {
+        var html = new StringBuilder();
+        html.append("<div class=\"page-title category-title\"><h1>").append(listing.title()).append("</h1></div>\n");
+        html.append(layeredNavigation(listing));
+
+        if (listing.products().isEmpty()) {
+            html.append("<p class=\"note-msg\">There are no products matching the selection.</p>\n");
+            return page(session, listing.title(), "catalog-category-view", true, html.toString());
+        }
+
+        html.append("<div class=\"category-products\">\n<div class=\"toolbar\">\n");
+        html.append("<div class=\"sorter\"><div class=\"sort-by\"><label>Sort By</label>");
+        html.append("<select onchange=\"setLocation(this.value)\" title=\"Sort By\">");
+        String order = listing.query().getOrDefault("order", "position");
+        for (String option : List.of("position", "name", "price")) {
+            html.append("<option value=\"").append(url(listing, "order", option)).append('"')
+                    .append(option.equals(order) ? " selected" : "").append('>')
+                    .append(Character.toUpperCase(option.charAt(0))).append(option.substring(1))
+                    .append("</option>");
+        }
+        html.append("</select></div></div>\n");
+        html.append("<div class=\"pager\"><div class=\"count-container\"><p class=\"amount amount--no-pages\"><strong>")
+                .append(listing.products().size()).append(" Item(s)</strong></p></div></div>\n");
+        html.append("</div>\n<ul class=\"products-grid\">\n");
+
+        String colorFilter = listing.query().get("color");
+        for (Product product : listing.products()) {
+            html.append("""
+                    <li class="item">
+                      <div class="product-info">
+                        <h2 class="product-name"><a href="/%s.html" title="%s">%s</a></h2>
+                        %s
+                        %s
+                        <div class="actions"><ul class="add-to-links">
+                          <li><a href="/wishlist/index/add/product/%d/" class="link-wishlist">Add to Wishlist</a></li>
+                          <li><span class="separator">|</span> <a href="#" class="link-compare">Add to Compare</a></li>
+                        </ul></div>
+                      </div>
+                    </li>
+                    """.formatted(product.urlKey(), esc(product.name()), esc(product.name()),
+                    priceBox(product), swatches(product, colorFilter), product.id()));
+        }
+        html.append("</ul>\n</div>\n");
+        return page(session, listing.title(), "catalog-category-view", true, html.toString());
+    }
+
+    static String product(Session session, Product product, String wishlistItem) {
+        String colors = product.colors().stream()
+                .map(color -> swatchOption("color", "option-" + slug(color.label()), color.id(), color.label(),
+                        "<img src=\"" + swatchImage(color) + "\" alt=\"" + color.label() + "\">"))
+                .collect(Collectors.joining());
+        String sizes = product.sizes().stream()
+                .map(size -> swatchOption("size", "option-" + slug(size), size, size, size))
+                .collect(Collectors.joining());
+
+        return page(session, product.name(), "catalog-product-view", false, """
+                <div class="product-view">
+                  <form action="/checkout/cart/add/" method="post" id="product_addtocart_form">
+                    <input type="hidden" name="product" value="%d">
+                    <input type="hidden" name="wishlist_item" value="%s">
+                    <div class="product-shop">
+                      <div class="product-name"><span class="h1">%s</span></div>
+                      %s
+                    </div>
+                    <dl class="product-options">
+                      <dt><label>Color: <span id="select_label_color"></span></label></dt>
+                      <dd><input type="hidden" name="color" id="color" value="">
+                        <ul id="configurable_swatch_color" class="configurable-swatch-list clearfix">%s</ul></dd>
+                      <dt><label>Size: <span id="select_label_size"></span></label></dt>
+                      <dd><input type="hidden" name="size" id="size" value="">
+                        <ul id="configurable_swatch_size" class="configurable-swatch-list clearfix">%s</ul></dd>
+                    </dl>
+                    <div class="add-to-cart">
+                      <label for="qty">Qty:</label><input type="text" name="qty" id="qty" value="1" class="input-text qty">
+                      <div class="add-to-cart-buttons">
+                        <button type="submit" title="Add to Cart" class="button btn-cart"><span><span>Add to Cart</span></span></button>
+                      </div>
+                    </div>
+                  </form>
+                </div>
+                """.formatted(product.id(), esc(wishlistItem), esc(product.name()), priceBox(product), colors, sizes));
+    }
+
+    static String wishlist(Session session) {
+        List<WishlistItem> items = session.customer.wishlist;
+        var html = new StringBuilder("<div class=\"my-wishlist\">\n<div class=\"page-title title-buttons\"><h1>My Wishlist</h1></div>\n");
+        if (items.isEmpty()) {
+            html.append("<p class=\"wishlist-empty\">You have no items in your wishlist.</p>\n</div>\n");
+            return page(session, "My Wishlist", "wishlist-index-index", false, html.toString());
+        }
+
+        html.append("""
+                <form id="wishlist-view-form" action="/wishlist/index/allcart/" method="post">
+                <table class="data-table clean-table linearize-table" id="wishlist-table">
+                <thead><tr><th>Product Details and Comment</th><th>Add to Cart</th></tr></thead>
+                <tbody>
+                """);
+        for (WishlistItem item : items) {
+            html.append("""
+                    <tr id="item_%d">
+                      <td class="wishlist-cell1 customer-wishlist-item-info"><h3 class="product-name"><a href="/%s.html" title="%s">%s</a></h3></td>
+                      <td class="wishlist-cell4 customer-wishlist-item-cart"><div class="cart-cell">%s
+                        <p><a class="link-edit button button-secondary" href="/%s.html?wishlist_item=%d">Edit</a></p></div></td>
+                    </tr>
+                    """.formatted(item.id(), item.product().urlKey(), esc(item.product().name()), esc(item.product().name()),
+                    priceBox(item.product()), item.product().urlKey(), item.id()));
+        }
+        html.append("""
+                </tbody>
+                </table>
+                <div class="buttons-set buttons-set2">
+                  <button type="submit" title="Add All to Cart" class="button btn-add"><span><span>Add All to Cart</span></span></button>
+                </div>
+                </form>
+                </div>
+                """);
+        return page(session, "My Wishlist", "wishlist-index-index", false, html.toString());
+    }
+
+    static String cart(Session session) {
+        List<CartItem> items = session.cart();
+        var html = new StringBuilder("<div class=\"cart\">\n<div class=\"page-title title-buttons\"><h1>Shopping Cart</h1></div>\n");
+        if (items.isEmpty()) {
+            html.append("""
+                    <div class="cart-empty">
+                      <p>You have no items in your shopping cart.</p>
+                      <p>Click <a href="/">here</a> to continue shopping.</p>
+                    </div>
+                    </div>
+                    """);
+            return page(session, "Shopping Cart", "checkout-cart-index", false, html.toString());
+        }
+
+        html.append("""
+                <form action="/checkout/cart/updatePost/" method="post">
+                <table id="shopping-cart-table" class="cart-table data-table">
+                <thead><tr><th>Product</th><th>Price</th><th>Qty</th><th>Subtotal</th><th></th></tr></thead>
+                <tbody>
+                """);
+        int subtotal = 0;
+        for (CartItem item : items) {
+            subtotal += item.rowTotalCents();
+            html.append("""
+                    <tr>
+                      <td class="product-cart-info"><h2 class="product-name"><a href="/%s.html">%s</a></h2>
+                        <dl class="item-options"><dt>Color</dt><dd>%s</dd><dt>Size</dt><dd>%s</dd></dl></td>
+                      <td class="product-cart-price"><span class="cart-price"><span class="price">%s</span></span></td>
+                      <td class="product-cart-actions">
+                        <input name="cart[%d][qty]" value="%d" size="4" title="Qty" class="input-text qty" maxlength="12">
+                        <button type="submit" name="update_cart_action" value="update_qty" title="Update" class="button btn-update"><span><span>Update</span></span></button>
+                      </td>
+                      <td class="product-cart-total"><span class="cart-price"><span class="price">%s</span></span></td>
+                      <td class="a-center product-cart-remove last"><a href="/checkout/cart/delete/id/%d/" title="Remove Item" class="btn-remove btn-remove2">Remove Item</a></td>
+                    </tr>
+                    """.formatted(item.product.urlKey(), esc(item.product.name()), item.color.label(), item.size,
+                    money(item.product.finalCents()), item.id, item.qty, money(item.rowTotalCents()), item.id));
+        }
+        html.append("""
+                </tbody>
+                </table>
+                </form>
+                <div class="cart-totals-wrapper"><div class="cart-totals">
+                <table id="shopping-cart-totals-table">
+                <tbody><tr><td class="a-right" colspan="1">Subtotal</td><td class="a-right"><span class="price">%s</span></td></tr></tbody>
+                <tfoot><tr class="last"><td class="a-right" colspan="1"><strong>Grand Total</strong></td><td class="a-right"><strong><span class="price">%s</span></strong></td></tr></tfoot>
+                </table>
+                </div></div>
+                </div>
+                """.formatted(money(subtotal), money(subtotal)));
+        return page(session, "Shopping Cart", "checkout-cart-index", false, html.toString());
+    }
+
+    // ===== Layout =====
+
+    private static String page(Session session, String title, String bodyClass, boolean listing, String content) {
+        boolean loggedIn = session.customer != null;
+        String welcome = loggedIn ? "Welcome, " + esc(session.customer.fullName()) + "!" : "Default welcome msg!";
+
+        int wishlistCount = loggedIn ? session.customer.wishlist.size() : 0;
+        String wishlistLabel = wishlistCount == 0
+                ? "My Wishlist"
+                : "My Wishlist (" + wishlistCount + (wishlistCount == 1 ? " item)" : " items)");
+        String accountLinks = loggedIn
+                ? "<li class=\"last\"><a href=\"/customer/account/logout/\" title=\"Log Out\">Log Out</a></li>"
+                : "<li><a href=\"/customer/account/create/\" title=\"Register\">Register</a></li>"
+                + "<li class=\"last\"><a href=\"/customer/account/login/\" title=\"Log In\">Log In</a></li>";
+
+        String main = listing
+                ? "<div class=\"main-container col3-layout\"><div class=\"main\"><div class=\"col-wrapper\"><div class=\"col-main\">\n"
+                + messages(session) + content + "</div></div></div></div>"
+                : "<div class=\"main-container col1-layout\"><div class=\"main\"><div class=\"col-main\">\n"
+                + messages(session) + content + "</div></div></div>";
+
+        return """
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                <meta charset="utf-8">
+                <title>%s</title>
+                <style>%s</style>
+                <script>%s</script>
+                </head>
+                <body class="%s">
+                <div class="wrapper">
+                <div class="page">
+                <div class="header-language-background"><div class="header-language-container"><p class="welcome-msg">%s</p></div></div>
+                <header id="header" class="page-header">
+                <div class="page-header-container">
+                  <a class="logo" href="/">Madison Island</a>
+                  <div class="skip-links">
+                    <div class="account-cart-wrapper">
+                      <a href="/customer/account/" class="skip-link skip-account" onclick="return toggleAccount()"><span class="icon"></span><span class="label">Account</span></a>
+                    </div>
+                  </div>
+                  <nav id="header-nav"><ol class="nav-primary">
+                    <li class="level0"><a href="/women.html" class="level0">WOMEN</a><ul class="level0"><li><a href="/women.html">View All Women</a></li></ul></li>
+                    <li class="level0"><a href="/men.html" class="level0">MEN</a><ul class="level0"><li><a href="/men.html">View All Men</a></li></ul></li>
+                    <li class="level0"><a href="/sale.html" class="level0">SALE</a><ul class="level0"><li><a href="/sale.html">View All Sale</a></li></ul></li>
+                  </ol></nav>
+                  <div id="header-account" class="skip-content"><div class="links"><ul>
+                    <li class="first"><a href="/customer/account/" title="My Account">My Account</a></li>
+                    <li><a href="/wishlist/" title="%s">%s</a></li>
+                    <li><a href="/checkout/cart/" title="My Cart" class="top-link-cart">My Cart</a></li>
+                    <li><a href="/checkout/cart/" title="Checkout" class="top-link-checkout">Checkout</a></li>
+                    %s
+                  </ul></div></div>
+                </div>
+                </header>
+                %s
+                </div>
+                </div>
+                </body>
+                </html>
+                """.formatted(esc(title), STYLE, SCRIPT, bodyClass, welcome, wishlistLabel, wishlistLabel, accountLinks, main);
+    }
+
+    // Flash messages are shown once
+    private static String messages(Session session) {
+        var html = new StringBuilder();
+        if (session.successMessage != null) {
+            html.append("<ul class=\"messages\"><li class=\"success-msg\"><ul><li><span>")
+                    .append(esc(session.successMessage)).append("</span></li></ul></li></ul>\n");
+            session.successMessage = null;
+        }
+        if (session.errorMessage != null) {
+            html.append("<ul class=\"messages\"><li class=\"error-msg\"><ul><li><span>")
+                    .append(esc(session.errorMessage)).append("</span></li></ul></li></ul>\n");
+            session.errorMessage = null;
+        }
+        return html.toString();
+    }
+
+    // ===== Layered navigation =====
+
+    // Category, Price and Color are always rendered, in that order, so the dt/dd positions are stable
+    private static String layeredNavigation(Listing listing) {
+        var html = new StringBuilder("<div class=\"col-left sidebar col-left-first\"><div class=\"block block-layered-nav\">\n");
+        html.append("<div class=\"block-title\"><strong><span>Shop By</span></strong></div>\n");
+        html.append("<div class=\"block-content toggle-content\">\n");
+
+        List<String> applied = List.of("type", "price", "color").stream()
+                .filter(listing.query()::containsKey)
+                .toList();
+        if (!applied.isEmpty()) {
+            html.append("<div class=\"currently\"><p class=\"block-subtitle\">Currently Shopping by:</p><ol>");
+            for (String attribute : applied) {
+                html.append("<li><span class=\"label\">").append(attribute).append(":</span> <span class=\"value\">")
+                        .append(esc(listing.query().get(attribute))).append("</span><a class=\"btn-remove\" href=\"")
+                        .append(url(listing, attribute, null)).append("\" title=\"Remove This Item\">Remove This Item</a></li>");
+            }
+            html.append("</ol></div>\n");
+        }
+
+        html.append("<p class=\"block-subtitle\">Shopping Options</p>\n<dl id=\"narrow-by-list\">\n");
+
+        html.append("<dt>Category</dt><dd><ol>");
+        listing.unfiltered().stream().map(Product::type).distinct().forEach(type -> {
+            long count = countWith(listing, "type", type);
+            if (count > 0) {
+                html.append("<li><a href=\"").append(url(listing, "type", type)).append("\">")
+                        .append(esc(type)).append("</a> <span class=\"count\">(").append(count).append(")</span></li>");
+            }
+        });
+        html.append("</ol></dd>\n");
+
+        html.append("<dt>Price</dt><dd><ol>");
+        int highest = listing.unfiltered().stream().mapToInt(Product::finalCents).max().orElse(0) / 10000;
+        for (int bucket = 0; bucket <= highest; bucket++) {
+            String range = (bucket * 100) + "-" + ((bucket + 1) * 100);
+            long count = countWith(listing, "price", range);
+            if (count > 0) {
+                html.append("<li><a href=\"").append(url(listing, "price", range)).append("\"><span class=\"price\">")
+                        .append(money(bucket * 10000)).append("</span> - <span class=\"price\">")
+                        .append(money((bucket + 1) * 10000 - 1)).append("</span></a> <span class=\"count\">(")
+                        .append(count).append(")</span></li>");
+            }
+        }
+        html.append("</ol></dd>\n");
+
+        html.append("<dt>Color</dt><dd><ol class=\"configurable-swatch-list\">");
+        for (Color color : LocalStorefront.COLORS) {
+            if (countWith(listing, "color", color.id()) > 0) {
+                html.append("<li><a href=\"").append(url(listing, "color", color.id())).append("\" title=\"")
+                        .append(color.label()).append("\"><span class=\"swatch-label\"><img src=\"")
+                        .append(swatchImage(color)).append("\" alt=\"").append(color.label())
+                        .append("\"></span></a></li>");
+            }
+        }
+        html.append("</ol></dd>\n</dl>\n</div>\n</div></div>\n");
+        return html.toString();
+    }
+
+    // Products that would be listed with attribute set to value, on top of the other filters
+    private static long countWith(Listing listing, String attribute, String value) {
+        Map<String, String> query = new LinkedHashMap<>(listing.query());
+        query.put(attribute, value);
+        return listing.unfiltered().stream().filter(p -> LocalStorefront.matchesFilters(p, query)).count();
+    }
+
+    private static String url(Listing listing, String parameter, @Nullable String value) {
+        Map<String, String> query = new LinkedHashMap<>(listing.query());
+        if (value == null) {
+            query.remove(parameter);
+        } else {
+            query.put(parameter, value);
+        }
+        if (query.isEmpty()) {
+            return listing.path();
+        }
+        return listing.path() + "?" + query.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&amp;"));
+    }
+
+    // ===== Fragments =====
+
+    private static String priceBox(Product product) {
+        if (!product.isOnSale()) {
+            return "<div class=\"price-box\"><span class=\"regular-price\"><span class=\"price\">"
+                    + money(product.priceCents()) + "</span></span></div>";
+        }
+        return "<div class=\"price-box\">"
+                + "<p class=\"old-price\"><span class=\"price-label\">Regular Price:</span> <span class=\"price\">" + money(product.priceCents()) + "</span></p>"
+                + "<p class=\"special-price\"><span class=\"price-label\">Special Price</span> <span class=\"price\">" + money(product.finalCents()) + "</span></p>"
+                + "</div>";
+    }
+
+    // Listing swatches; the filtered color is marked as matching and selected, as the theme does
+    private static String swatches(Product product, @Nullable String colorFilter) {
+        return "<ul class=\"configurable-swatch-list\">" + product.colors().stream()
+                .map(color -> "<li class=\"option-" + slug(color.label()) + " is-media"
+                        + (color.id().equals(colorFilter) ? " filter-match selected" : "") + "\">"
+                        + "<a href=\"/" + product.urlKey() + ".html\" title=\"" + color.label() + "\">"
+                        + "<span class=\"swatch-label\"><img src=\"" + swatchImage(color) + "\" alt=\"" + color.label() + "\"></span></a></li>")
+                .collect(Collectors.joining()) + "</ul>";
+    }
+
+    private static String swatchOption(String input, String cssClass, String value, String title, String label) {
+        return "<li class=\"" + cssClass + "\"><a href=\"#\" data-value=\"" + value + "\" title=\"" + title
+                + "\" onclick=\"return pickSwatch(this, '" + input + "')\"><span class=\"swatch-label\">" + label + "</span></a></li>";
+    }
+
+    private static String swatchImage(Color color) {
+        return "data:image/svg+xml;utf8,%3Csvg xmlns='http://www.w3.org/2000/svg' width='20' height='20'%3E"
+                + "%3Crect width='20' height='20' fill='" + slug(color.label()) + "'/%3E%3C/svg%3E";
+    }
+
+    private static String slug(String label) {
+        return label.toLowerCase(Locale.ROOT).replace(' ', '-');
+    }
+
+    private static String money(int cents) {
+        return String.format(Locale.US, "$%,.2f", cents / 100.0);
+    }
+
+    private static String esc(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
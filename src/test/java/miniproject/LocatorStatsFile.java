@@ -0,0 +1,67 @@
+package miniproject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps the {@link LocatorStats} hit counts across runs in {@code target/locator-stats.properties}
+ * (override with {@code locator.stats.file}): loaded once per JVM, saved at exit.
+ */
+final class LocatorStatsFile {
+
+    private static final Path FILE = Path.of(System.getProperty("locator.stats.file", "target/locator-stats.properties"));
+
+    private static boolean loaded;
+
+    private LocatorStatsFile() {
+        // utility
+    }
+
+    static synchronized void loadOnce() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        LocatorStats.remember(load());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> save(LocatorStats.snapshot()), "locator-stats-save"));
+    }
+
+    private static Map<String, Long> load() {
+        Map<String, Long> hits = new HashMap<>();
+        if (Files.exists(FILE)) {
+            try (Reader reader = Files.newBufferedReader(FILE)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                properties.forEach((key, value) -> hits.put((String) key, Long.parseLong(((String) value).trim())));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not load locator stats: " + e.getMessage());
+            }
+        }
+        return hits;
+    }
+
+    private static void save(Map<String, Long> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        hits.forEach((key, count) -> properties.setProperty(key, Long.toString(count)));
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(FILE.toAbsolutePath().getParent(), "locator-stats", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                properties.store(writer, "CandidateLocator hit counts");
+            }
+            Files.move(tmp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save locator stats: " + e.getMessage());
+        }
+    }
+}
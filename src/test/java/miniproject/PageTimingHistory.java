@@ -0,0 +1,205 @@
+package miniproject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every {@link PageTimings.Sample} across runs in {@code target/page-timings.tsv}
+ * (override with {@code perf.history}) and prints percentiles at exit, over the last
+ * {@code perf.history.window} navigations (default 500) of each page under the same conditions.
+ *
+ * <p>Each row records the site, browser profile, traffic mode and request blocking it was taken
+ * under, so a replayed or unblocked run does not blend into the live numbers. Runs against the
+ * local storefront are not kept: its port changes every run and its timings say nothing about the site.
+ */
+final class PageTimingHistory {
+
+    // A page measured under one set of conditions; rows from before the columns existed have them empty
+    private record Group(PageType route, String baseUrl, String profile, String traffic, String blocking) {
+
+        static final Comparator<Group> ORDER = Comparator.comparing(Group::route)
+                .thenComparing(Group::baseUrl)
+                .thenComparing(Group::profile)
+                .thenComparing(Group::traffic)
+                .thenComparing(Group::blocking);
+
+        @Override
+        public String toString() {
+            return route + " on " + orUnknown(baseUrl) + " [" + orUnknown(profile) + ", traffic "
+                    + orUnknown(traffic) + ", blocking " + orUnknown(blocking) + "]";
+        }
+
+        private static String orUnknown(String value) {
+            return value.isEmpty() ? "?" : value;
+        }
+    }
+
+    private static final List<String> CONDITIONS = List.of("base_url", "profile", "traffic", "blocking");
+
+    private static final Path FILE = Path.of(System.getProperty("perf.history", "target/page-timings.tsv"));
+    private static final int WINDOW = Integer.getInteger("perf.history.window", 500);
+    private static final int[] PERCENTILES = {50, 75, 95};
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PageTimingHistory::printPercentiles, "page-timing-percentiles"));
+    }
+
+    private PageTimingHistory() {
+        // utility
+    }
+
+    static synchronized void append(List<PageTimings.Sample> samples, BrowserProfile profile, RequestBlocker.Mode blocking) {
+        if (samples.isEmpty() || LocalStorefront.isRunning()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        try {
+            if (!Files.exists(FILE)) {
+                lines.add(header());
+            } else {
+                migrate();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read page timings from " + FILE + ": " + e.getMessage());
+            return;
+        }
+        for (PageTimings.Sample sample : samples) {
+            List<String> columns = new ArrayList<>(List.of(Long.toString(System.currentTimeMillis()), sample.route().name(),
+                    PageType.baseUrl(), profile.name(), TrafficArchive.MODE.name(), blocking.name()));
+            for (PageMetric metric : PageMetric.values()) {
+                Double value = sample.values().get(metric);
+                columns.add(value != null ? Double.toString(value) : "");
+            }
+            lines.add(String.join("\t", columns));
+        }
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Files.write(FILE, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not append page timings to " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    // Rewrites a file from before the current columns into them, so new rows line up with the header
+    private static void migrate() throws IOException {
+        List<String> lines = Files.readAllLines(FILE);
+        List<String> migrated = migrate(lines);
+        if (migrated != lines) {
+            Files.write(FILE, migrated);
+        }
+    }
+
+    /**
+     * The lines of a history file under the current header, columns matched by name and the
+     * missing ones left empty; {@code lines} itself when it already has the current header.
+     */
+    static List<String> migrate(List<String> lines) {
+        if (lines.isEmpty() || lines.getFirst().equals(header())) {
+            return lines;
+        }
+        List<String> oldHeader = List.of(lines.getFirst().split("\t"));
+        List<String> migrated = new ArrayList<>(List.of(header()));
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split("\t", -1);
+            migrated.add(Arrays.stream(header().split("\t"))
+                    .map(name -> {
+                        int column = oldHeader.indexOf(name);
+                        return column >= 0 && column < columns.length ? columns[column] : "";
+                    })
+                    .collect(Collectors.joining("\t")));
+        }
+        return migrated;
+    }
+
+    static String header() {
+        List<String> columns = new ArrayList<>(List.of("recorded_at", "route"));
+        columns.addAll(CONDITIONS);
+        Arrays.stream(PageMetric.values()).map(PageMetric::getKey).forEach(columns::add);
+        return String.join("\t", columns);
+    }
+
+    private static synchronized void printPercentiles() {
+        Map<Group, Map<PageMetric, List<Double>>> byGroup = read();
+        if (byGroup.isEmpty()) {
+            return;
+        }
+        System.out.println("Page timings across runs (p50 / p75 / p95, last " + WINDOW
+                + " navigations per page and conditions):");
+        byGroup.forEach((group, metrics) -> {
+            List<String> parts = new ArrayList<>();
+            metrics.forEach((metric, values) -> {
+                if (!values.isEmpty()) {
+                    List<Double> window = values.subList(Math.max(0, values.size() - WINDOW), values.size());
+                    List<String> percentiles = new ArrayList<>();
+                    for (int percentile : PERCENTILES) {
+                        percentiles.add(metric.format(percentile(window, percentile)));
+                    }
+                    parts.add(metric.getKey() + " " + String.join(" / ", percentiles));
+                }
+            });
+            System.out.println("  " + group + " (" + metrics.values().stream().mapToInt(List::size).max().orElse(0)
+                    + " navigations): " + String.join(", ", parts));
+        });
+    }
+
+    // Columns are found by header name, so files written before a metric or condition was added still read
+    private static Map<Group, Map<PageMetric, List<Double>>> read() {
+        Map<Group, Map<PageMetric, List<Double>>> byGroup = new TreeMap<>(Group.ORDER);
+        List<String> lines;
+        try {
+            lines = Files.exists(FILE) ? Files.readAllLines(FILE) : List.of();
+        } catch (IOException e) {
+            System.err.println("Could not read page timings from " + FILE + ": " + e.getMessage());
+            return byGroup;
+        }
+        if (lines.isEmpty()) {
+            return byGroup;
+        }
+
+        List<String> header = List.of(lines.getFirst().split("\t"));
+        int routeColumn = header.indexOf("route");
+        int[] conditionColumns = CONDITIONS.stream().mapToInt(header::indexOf).toArray();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split("\t", -1);
+            PageType route;
+            try {
+                route = PageType.valueOf(columns[routeColumn]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                continue; // a route that has since been renamed, or a torn line
+            }
+            String[] conditions = Arrays.stream(conditionColumns)
+                    .mapToObj(column -> column >= 0 && column < columns.length ? columns[column] : "")
+                    .toArray(String[]::new);
+            var group = new Group(route, conditions[0], conditions[1], conditions[2], conditions[3]);
+            Map<PageMetric, List<Double>> metrics = byGroup.computeIfAbsent(group, g -> new EnumMap<>(PageMetric.class));
+            for (PageMetric metric : PageMetric.values()) {
+                int column = header.indexOf(metric.getKey());
+                if (column >= 0 && column < columns.length && !columns[column].isEmpty()) {
+                    try {
+                        metrics.computeIfAbsent(metric, m -> new ArrayList<>()).add(Double.parseDouble(columns[column]));
+                    } catch (NumberFormatException e) {
+                        // torn line from a run that was killed mid-write
+                    }
+                }
+            }
+        }
+        return byGroup;
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(List<Double> values, int percentile) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,44 @@
+package miniproject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class PageTimingHistoryTest {
+
+    @Test
+    void testCurrentHeaderIsKept() {
+        String header = PageTimingHistory.header();
+        List<String> lines = List.of(header, header.replaceAll("[^\t]+", "1"));
+        Assertions.assertSame(lines, PageTimingHistory.migrate(lines), "nothing to migrate");
+        Assertions.assertTrue(PageTimingHistory.migrate(List.of()).isEmpty(), "empty file");
+    }
+
+    @Test
+    void testOldColumnsMoveUnderCurrentHeader() {
+        // before the conditions, lcp and cls were recorded
+        List<String> lines = List.of(
+                "recorded_at\troute\tttfb\tdcl\tload\tfcp",
+                "1000\tHOME\t120.0\t480.0\t900.0\t300.0",
+                "2000\tMEN\t130.0\t\t950.0");
+
+        List<String> migrated = PageTimingHistory.migrate(lines);
+
+        Assertions.assertEquals(List.of(
+                PageTimingHistory.header(),
+                "1000\tHOME\t\t\t\t\t120.0\t480.0\t900.0\t300.0\t\t",
+                "2000\tMEN\t\t\t\t\t130.0\t\t950.0\t\t\t"), migrated);
+    }
+
+    @Test
+    void testUnknownColumnsAreDropped() {
+        List<String> lines = List.of(
+                "recorded_at\troute\tretired\tload",
+                "1000\tHOME\tx\t900.0");
+
+        List<String> migrated = PageTimingHistory.migrate(lines);
+
+        Assertions.assertEquals("1000\tHOME\t\t\t\t\t\t\t900.0\t\t\t", migrated.get(1));
+    }
+}
@@ -0,0 +1,246 @@
+package miniproject;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps third-party tags, analytics and web fonts out of the browser through DevTools
+ * {@code Network.setBlockedURLs}, and counts what was kept out.
+ *
+ * <p>Configured by {@code network.block} ({@code on}, {@code observe} or {@code off}) and
+ * {@code network.block.patterns} (comma-separated URL patterns with {@code *} wildcards,
+ * replacing the default deny-list). Blocked requests transfer nothing, so their size is
+ * estimated from the average per pattern measured in {@code observe} mode, which loads
+ * everything and only records. Those averages are kept in {@code target/blocked-sizes.properties}.
+ */
+public final class RequestBlocker {
+
+    public enum Mode { ON, OBSERVE, OFF }
+
+    /**
+     * Default deny-list: analytics, tracking and font hosts the assertions never look at. The
+     * Tealium tag manager itself ({@code tags.tiqcdn.com}) is allowed, because it serves the
+     * consent manager that {@link BasePage#tryAcceptConsent()} and {@link ConsentCookies} rely
+     * on; the tags it loads are still blocked by their own hosts.
+     */
+    public static final List<String> DEFAULT_PATTERNS = List.of(
+            "*tealiumiq.com*",
+            "*googletagmanager.com*",
+            "*google-analytics.com*",
+            "*doubleclick.net*",
+            "*connect.facebook.net*",
+            "*hotjar.com*",
+            "*fonts.googleapis.com*",
+            "*fonts.gstatic.com*",
+            "*use.typekit.net*"
+    );
+
+    private static final Path SIZES_FILE = Path.of("target", "blocked-sizes.properties");
+
+    // pattern -> {requests, bytes} measured in observe mode, shared by all blockers
+    private static final Map<String, long[]> OBSERVED = loadObserved();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(RequestBlocker::saveObserved, "blocked-sizes-save"));
+    }
+
+    /**
+     * What was blocked (or, in observe mode, would have been) since the last {@link #drain()}.
+     * When blocking, {@code bytes} is an estimate and leaves out the {@code uncalibrated}
+     * requests, whose patterns have never been measured in observe mode.
+     */
+    public record Report(long requests, long bytes, boolean estimated, long uncalibrated) {
+
+        @Override
+        public String toString() {
+            if (!estimated) {
+                return requests + " requests, " + bytes / 1024 + " KB";
+            }
+            String report = requests + " requests, ~" + bytes / 1024 + " KB saved (estimated from observe-mode averages)";
+            if (uncalibrated > 0) {
+                report += ", " + uncalibrated + " of them without a measured size;"
+                        + " run once with -Dnetwork.block=observe to calibrate";
+            }
+            return report;
+        }
+    }
+
+    private final Mode mode;
+    private final List<String> patterns;
+    private final List<Pattern> matchers;
+
+    private final Map<String, String> requestPatterns = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final AtomicLong observedBytes = new AtomicLong();
+
+    private RequestBlocker(Mode mode, List<String> patterns) {
+        this.mode = mode;
+        this.patterns = List.copyOf(patterns);
+        this.matchers = patterns.stream().map(RequestBlocker::toRegex).toList();
+    }
+
+    /**
+     * Install blocking on a freshly created driver, configured from system properties.
+     * Returns a blocker that reports nothing when blocking is off or unsupported.
+     */
+    public static RequestBlocker install(WebDriver webDriver) {
+        Mode mode = Mode.valueOf(System.getProperty("network.block", "on").trim().toUpperCase());
+        String configured = System.getProperty("network.block.patterns", "").trim();
+        List<String> patterns = configured.isEmpty()
+                ? DEFAULT_PATTERNS
+                : Arrays.stream(configured.split(",")).map(String::trim).filter(p -> !p.isEmpty()).toList();
+
+        if (mode == Mode.OFF || !(webDriver instanceof HasDevTools hasDevTools)) {
+            return new RequestBlocker(Mode.OFF, List.of());
+        }
+
+        var blocker = new RequestBlocker(mode, patterns);
+        blocker.attach(hasDevTools.getDevTools());
+        return blocker;
+    }
+
+    private void attach(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        if (mode == Mode.ON) {
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", patterns)));
+        }
+
+        devTools.addListener(DevToolsEvents.named("Network.requestWillBeSent"), e -> {
+            Map<?, ?> request = (Map<?, ?>) e.get("request");
+            String pattern = matchingPattern((String) request.get("url"));
+            if (pattern != null) {
+                requestPatterns.put((String) e.get("requestId"), pattern);
+            }
+        });
+        devTools.addListener(DevToolsEvents.named("Network.loadingFailed"), e -> {
+            String pattern = requestPatterns.remove((String) e.get("requestId"));
+            if (pattern != null && e.get("blockedReason") != null) {
+                counts.computeIfAbsent(pattern, _ -> new AtomicLong()).incrementAndGet();
+            }
+        });
+        devTools.addListener(DevToolsEvents.named("Network.loadingFinished"), e -> {
+            String pattern = requestPatterns.remove((String) e.get("requestId"));
+            if (pattern != null && mode == Mode.OBSERVE) {
+                long bytes = ((Number) e.get("encodedDataLength")).longValue();
+                counts.computeIfAbsent(pattern, _ -> new AtomicLong()).incrementAndGet();
+                observedBytes.addAndGet(bytes);
+                recordObserved(pattern, bytes);
+            }
+        });
+    }
+
+    /**
+     * Counts since the last call, for per-test reporting.
+     */
+    public Report drain() {
+        long requests = 0;
+        long estimatedBytes = 0;
+        long uncalibrated = 0;
+        for (Map.Entry<String, AtomicLong> entry : counts.entrySet()) {
+            long count = entry.getValue().getAndSet(0);
+            requests += count;
+            long averageSize = averageSize(entry.getKey());
+            if (averageSize < 0) {
+                uncalibrated += count;
+            } else {
+                estimatedBytes += count * averageSize;
+            }
+        }
+        if (mode == Mode.OBSERVE) {
+            return new Report(requests, observedBytes.getAndSet(0), false, 0);
+        }
+        return new Report(requests, estimatedBytes, true, uncalibrated);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    private String matchingPattern(String url) {
+        for (int i = 0; i < matchers.size(); i++) {
+            if (matchers.get(i).matcher(url).matches()) {
+                return patterns.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static Pattern toRegex(String wildcard) {
+        return Pattern.compile(Arrays.stream(wildcard.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+    }
+
+    // ===== Observed sizes =====
+
+    // -1 when the pattern has never been measured
+    private static long averageSize(String pattern) {
+        long[] observed = OBSERVED.get(pattern);
+        synchronized (OBSERVED) {
+            return observed == null || observed[0] == 0 ? -1 : observed[1] / observed[0];
+        }
+    }
+
+    private static void recordObserved(String pattern, long bytes) {
+        synchronized (OBSERVED) {
+            long[] observed = OBSERVED.computeIfAbsent(pattern, _ -> new long[2]);
+            observed[0]++;
+            observed[1] += bytes;
+        }
+    }
+
+    private static Map<String, long[]> loadObserved() {
+        Map<String, long[]> observed = new ConcurrentHashMap<>();
+        if (Files.exists(SIZES_FILE)) {
+            try (Reader reader = Files.newBufferedReader(SIZES_FILE)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                properties.forEach((key, value) -> {
+                    String[] parts = ((String) value).split("/");
+                    observed.put((String) key, new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])});
+                });
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not load blocked request sizes: " + e.getMessage());
+            }
+        }
+        return observed;
+    }
+
+    private static void saveObserved() {
+        if (OBSERVED.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        synchronized (OBSERVED) {
+            OBSERVED.forEach((pattern, observed) -> properties.setProperty(pattern, observed[0] + "/" + observed[1]));
+        }
+        try {
+            Files.createDirectories(SIZES_FILE.getParent());
+            Path tmp = Files.createTempFile(SIZES_FILE.getParent(), "blocked-sizes", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                properties.store(writer, "requests/bytes per blocked pattern, measured with network.block=observe");
+            }
+            Files.move(tmp, SIZES_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save blocked request sizes: " + e.getMessage());
+        }
+    }
+}
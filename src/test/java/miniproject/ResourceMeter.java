@@ -0,0 +1,202 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resource use of one Chrome while a test runs: page metrics from DevTools
+ * {@code Performance.getMetrics} and the peak resident memory of the Chrome process tree.
+ *
+ * <p>Memory is the summed RSS of the browser process and its children (renderers, GPU, network
+ * service), sampled every {@code resources.rss.interval} ms (default 500) from {@code /proc}. Pages
+ * shared between those processes count once per process, so compare runs rather than reading it
+ * as an absolute figure. Off Linux the peak is not measured.
+ */
+public final class ResourceMeter {
+
+    private static final long RSS_INTERVAL_MILLIS = Long.getLong("resources.rss.interval", 500);
+    private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("chrome-rss-sampler").daemon().factory());
+
+    /**
+     * Browser-side use over one test. Heap and node counts are as the test ended; layouts and
+     * script time are what the test added. {@code peakRssBytes} is -1 when not measured.
+     */
+    public record Usage(long jsHeapUsedBytes, long domNodes, long layouts, Duration scriptDuration, long peakRssBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("JS heap %s, %d DOM nodes, %d layouts, %d ms script, peak Chrome RSS %s",
+                    mebibytes(jsHeapUsedBytes), domNodes, layouts, scriptDuration.toMillis(),
+                    peakRssBytes < 0 ? "n/a" : mebibytes(peakRssBytes));
+        }
+    }
+
+    private final DevTools devTools;
+    private final @Nullable String userDataDir;
+
+    // Found on the first sample; Chrome is started by chromedriver, a child of this JVM
+    private volatile @Nullable ProcessHandle browserProcess;
+
+    private final AtomicLong peakRss = new AtomicLong(-1);
+    private Map<String, Double> startMetrics = Map.of();
+    private @Nullable ScheduledFuture<?> sampling;
+
+    private ResourceMeter(DevTools devTools, @Nullable String userDataDir) {
+        this.devTools = devTools;
+        this.userDataDir = userDataDir;
+    }
+
+    /**
+     * Start metering a freshly created driver. Returns {@code null} when it has no DevTools.
+     */
+    public static @Nullable ResourceMeter install(WebDriver webDriver) {
+        if (!(webDriver instanceof HasDevTools hasDevTools)) {
+            return null;
+        }
+        DevTools devTools = hasDevTools.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<>("Performance.enable", Map.of()));
+        return new ResourceMeter(devTools, userDataDir(webDriver));
+    }
+
+    /**
+     * Take the starting metrics and begin sampling memory.
+     */
+    public synchronized void start() {
+        startMetrics = metrics();
+        peakRss.set(-1);
+        if (sampling == null && isProcAvailable()) {
+            sampling = SAMPLER.scheduleAtFixedRate(this::sampleRss, 0, RSS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop sampling and return the use since {@link #start()}.
+     */
+    public synchronized Usage stop() {
+        if (sampling != null) {
+            sampling.cancel(false);
+            sampling = null;
+        }
+        sampleRss();
+        Map<String, Double> end = metrics();
+        return new Usage(
+                value(end, "JSHeapUsedSize"),
+                value(end, "Nodes"),
+                increase(end, "LayoutCount"),
+                Duration.ofNanos(Math.round(increaseOf(end, "ScriptDuration") * 1_000_000_000)),
+                peakRss.get());
+    }
+
+    // ===== DevTools metrics =====
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Double> metrics() {
+        try {
+            Map<String, Object> result = devTools.send(new Command<>("Performance.getMetrics", Map.of(), Json.MAP_TYPE));
+            Map<String, Double> metrics = new HashMap<>();
+            for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                metrics.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+            }
+            return metrics;
+        } catch (WebDriverException e) {
+            return Map.of();
+        }
+    }
+
+    private static long value(Map<String, Double> metrics, String name) {
+        return Math.round(metrics.getOrDefault(name, 0.0));
+    }
+
+    private long increase(Map<String, Double> end, String name) {
+        return Math.round(increaseOf(end, name));
+    }
+
+    // Counters restart with a new renderer process, so a drop means everything counted is new
+    private double increaseOf(Map<String, Double> end, String name) {
+        double last = end.getOrDefault(name, 0.0);
+        double first = startMetrics.getOrDefault(name, 0.0);
+        return last >= first ? last - first : last;
+    }
+
+    // ===== Process memory =====
+
+    private void sampleRss() {
+        ProcessHandle browser = browserProcess();
+        if (browser == null || !browser.isAlive()) {
+            return;
+        }
+        long total = rss(browser) + browser.descendants().mapToLong(ResourceMeter::rss).sum();
+        peakRss.accumulateAndGet(total, Math::max);
+    }
+
+    private @Nullable ProcessHandle browserProcess() {
+        ProcessHandle browser = browserProcess;
+        if (browser == null && userDataDir != null) {
+            String flag = "--user-data-dir=" + userDataDir;
+            browser = ProcessHandle.current().descendants()
+                    .filter(process -> process.info().arguments()
+                            .map(List::of)
+                            .filter(args -> args.contains(flag) && args.stream().noneMatch(arg -> arg.startsWith("--type=")))
+                            .isPresent())
+                    .findFirst()
+                    .orElse(null);
+            browserProcess = browser;
+        }
+        return browser;
+    }
+
+    // VmRSS of one process in bytes; 0 once it has exited
+    private static long rss(ProcessHandle process) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(process.pid()), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // exited between listing and reading
+        }
+        return 0;
+    }
+
+    private static boolean isProcAvailable() {
+        return Files.isReadable(Path.of("/proc/self/status"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable String userDataDir(WebDriver webDriver) {
+        if (!(webDriver instanceof HasCapabilities hasCapabilities)) {
+            return null;
+        }
+        return Optional.ofNullable(hasCapabilities.getCapabilities().getCapability("chrome"))
+                .filter(Map.class::isInstance)
+                .map(chrome -> (String) ((Map<String, Object>) chrome).get("userDataDir"))
+                .orElse(null);
+    }
+
+    static String mebibytes(long bytes) {
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+}
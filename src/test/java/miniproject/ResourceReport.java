@@ -0,0 +1,125 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-test resource accounting: bytes allocated and CPU time on the test thread, wall time, and
+ * the browser's {@link ResourceMeter.Usage} when it has DevTools.
+ *
+ * <p>Work the HTTP client and DevTools listeners do on their own threads is not included, so the
+ * JVM figures are what the test and its page objects cost. At exit the whole run is written to
+ * {@code target/resources/resources_<timestamp>_<n>.tsv} (directory from {@code resources.dir}),
+ * most CPU first, and the top {@code resources.report.top} tests (default 5) are printed.
+ */
+final class ResourceReport {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Path DIR = Path.of(System.getProperty("resources.dir", "target/resources"));
+    private static final int TOP = Integer.getInteger("resources.report.top", 5);
+
+    private static final Queue<Row> RUN = new ConcurrentLinkedQueue<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ResourceReport::writeRunReport, "resource-report"));
+    }
+
+    /**
+     * Counters on the test thread when the test started.
+     */
+    record Start(long allocatedBytes, long cpuNanos, long wallNanos) {
+    }
+
+    /**
+     * One test's use. JVM figures are -1 where the JVM cannot measure them.
+     */
+    record Row(String test, String profile, long allocatedBytes, long cpuNanos, Duration wall,
+               ResourceMeter.@Nullable Usage browser) {
+
+        @Override
+        public String toString() {
+            String jvm = String.format("%s allocated, %s CPU, %d ms wall",
+                    allocatedBytes < 0 ? "n/a" : ResourceMeter.mebibytes(allocatedBytes),
+                    cpuNanos < 0 ? "n/a" : cpuNanos / 1_000_000 + " ms", wall.toMillis());
+            return browser == null ? jvm : jvm + "; " + browser;
+        }
+    }
+
+    private ResourceReport() {
+        // utility
+    }
+
+    static Start start() {
+        return new Start(allocatedBytes(), cpuNanos(), System.nanoTime());
+    }
+
+    /**
+     * Close the test's accounting on the thread that called {@link #start()} and add it to the run.
+     */
+    static Row finish(String test, String profile, Start start, ResourceMeter.@Nullable Usage browser) {
+        long allocated = allocatedBytes();
+        long cpu = cpuNanos();
+        var row = new Row(test, profile,
+                allocated < 0 || start.allocatedBytes() < 0 ? -1 : allocated - start.allocatedBytes(),
+                cpu < 0 || start.cpuNanos() < 0 ? -1 : cpu - start.cpuNanos(),
+                Duration.ofNanos(System.nanoTime() - start.wallNanos()),
+                browser);
+        RUN.add(row);
+        return row;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled()
+                ? THREADS.getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static void writeRunReport() {
+        if (RUN.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(RUN);
+        // unmeasured CPU (-1) sorts last
+        rows.sort(Comparator.comparingLong(Row::cpuNanos).reversed());
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join("\t", "test", "profile", "allocated_bytes", "cpu_ms", "wall_ms",
+                "js_heap_used_bytes", "dom_nodes", "layouts", "script_ms", "peak_chrome_rss_bytes"));
+        for (Row row : rows) {
+            ResourceMeter.Usage browser = row.browser();
+            lines.add(String.join("\t", row.test(), row.profile(), Long.toString(row.allocatedBytes()),
+                    Long.toString(row.cpuNanos() < 0 ? -1 : row.cpuNanos() / 1_000_000),
+                    Long.toString(row.wall().toMillis()),
+                    browser == null ? "" : Long.toString(browser.jsHeapUsedBytes()),
+                    browser == null ? "" : Long.toString(browser.domNodes()),
+                    browser == null ? "" : Long.toString(browser.layouts()),
+                    browser == null ? "" : Long.toString(browser.scriptDuration().toMillis()),
+                    browser == null || browser.peakRssBytes() < 0 ? "" : Long.toString(browser.peakRssBytes())));
+        }
+
+        System.out.println("Most expensive tests by JVM CPU:");
+        rows.stream().limit(TOP).forEach(row -> System.out.println("  " + row.test() + ": " + row));
+        try {
+            Path file = ArtifactStore.newFile(DIR, "resources", "tsv");
+            Files.write(file, lines);
+            System.out.println("Resource report: " + file);
+        } catch (IOException e) {
+            System.err.println("Could not write resource report: " + e.getMessage());
+        }
+    }
+}
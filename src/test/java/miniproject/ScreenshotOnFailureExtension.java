@@ -8,12 +8,18 @@ public class ScreenshotOnFailureExtension implements AfterTestExecutionCallback
 
     public void afterTestExecution(@NonNull ExtensionContext context) {
         if (context.getExecutionException().isPresent()) {
-            context.getTestInstance().ifPresent(testInstance -> {
-                if (testInstance instanceof BaseUiTest baseTest) {
-                    ScreenshotUtil.takeScreenshot(baseTest.webDriver, context.getDisplayName());
-                }
-            });
+            // The step that was running when the test failed
+            Span failed = Spans.current();
+            if (failed != null) {
+                failed.fail(String.valueOf(context.getExecutionException().get().getMessage()));
+            }
+
+            // Runs on the test's own thread, so this is the failing test's driver
+            var webDriver = DriverContext.current();
+            if (webDriver != null) {
+                ScreenshotUtil.takeScreenshot(webDriver, context.getDisplayName());
+            }
         }
     }
 
-}
\ No newline at end of file
+}
@@ -9,8 +9,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public final class ScreenshotUtil {
 
@@ -27,17 +25,11 @@ public final class ScreenshotUtil {
         }
 
         try {
-            // Make sure directory exists
-            Files.createDirectories(SCREENSHOT_DIR);
-
             var ts = (TakesScreenshot) driver;
             File srcFile = ts.getScreenshotAs(OutputType.FILE);
 
-            String timestamp = LocalDateTime.now()
-                    .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = testName.replace(" ", "_") + "_" + timestamp + ".png";
-
-            Path dest = SCREENSHOT_DIR.resolve(fileName);
+            // Unique per call, so parallel failures never overwrite each other
+            Path dest = ArtifactStore.newFile(SCREENSHOT_DIR, testName, "png");
             Files.copy(srcFile.toPath(), dest, StandardCopyOption.REPLACE_EXISTING);
 
             System.out.println("Saved screenshot: " + dest.toAbsolutePath());
@@ -0,0 +1,106 @@
+package miniproject;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs in through the UI once per account and replays the resulting cookies and local
+ * storage into later drivers, so tests start authenticated without the login pages.
+ *
+ * <p>Tests using a cached session must not log out: logging out ends the server-side
+ * session the cached cookies point to. Cookies are cleared from the browser anyway
+ * when the driver goes back to the pool.
+ */
+public final class SessionCache {
+
+    private record SessionState(Set<Cookie> cookies, Map<String, String> localStorage) {
+    }
+
+    private static final Map<String, SessionState> SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private SessionCache() {
+        // utility
+    }
+
+    /**
+     * Make {@code webDriver} signed in as {@code email} and leave it on the My Account page.
+     */
+    public static void signIn(WebDriver webDriver, String email, String password) {
+        SessionState cached = SESSIONS.get(email);
+        if (cached != null && restore(webDriver, cached)) {
+            System.out.println("Restored cached session for " + email);
+            return;
+        }
+
+        // One UI login per account, even if several tests ask for it at the same time
+        synchronized (LOCKS.computeIfAbsent(email, _ -> new Object())) {
+            SessionState current = SESSIONS.get(email);
+            if (current != null && current != cached && restore(webDriver, current)) {
+                return;
+            }
+            SESSIONS.remove(email);
+
+            loginThroughUi(webDriver, email, password);
+            SESSIONS.put(email, capture(webDriver));
+            System.out.println("Cached session for " + email);
+        }
+    }
+
+    private static void loginThroughUi(WebDriver webDriver, String email, String password) {
+        webDriver.get(PageType.HOME.getUrl());
+
+        var homePage = new HomePage(webDriver);
+        homePage.tryAcceptConsent();
+        homePage.openLoginPage();
+
+        var loginPage = new LoginPage(webDriver);
+        loginPage.fillEmail(email);
+        loginPage.fillPassword(password);
+        loginPage.submitLogin();
+
+        if (!Objects.equals(webDriver.getTitle(), PageType.MY_ACCOUNT.getTitle())) {
+            throw new IllegalStateException("Login failed for " + email + ", landed on '" + webDriver.getTitle() + "'");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SessionState capture(WebDriver webDriver) {
+        var localStorage = (Map<String, String>) ((JavascriptExecutor) webDriver).executeScript(
+                "var items = {}; for (var i = 0; i < localStorage.length; i++) {"
+                        + " var key = localStorage.key(i); items[key] = localStorage.getItem(key); } return items;");
+        return new SessionState(Set.copyOf(webDriver.manage().getCookies()), Map.copyOf(localStorage));
+    }
+
+    /**
+     * Inject the session and open My Account. Returns false when the server no longer accepts it.
+     */
+    private static boolean restore(WebDriver webDriver, SessionState state) {
+        if (webDriver instanceof HasCdp cdp) {
+            // Cookies can be set before the first navigation, saving a page load
+            for (Cookie cookie : state.cookies()) {
+                CdpCookies.set(cdp, cookie);
+            }
+        } else {
+            webDriver.get(PageType.HOME.getUrl());
+            state.cookies().forEach(webDriver.manage()::addCookie);
+        }
+
+        webDriver.get(PageType.MY_ACCOUNT.getUrl());
+        if (!state.localStorage().isEmpty()) {
+            ((JavascriptExecutor) webDriver).executeScript(
+                    "var items = arguments[0]; for (var key in items) { localStorage.setItem(key, items[key]); }",
+                    state.localStorage());
+        }
+        new HomePage(webDriver).tryAcceptConsent();
+
+        return Objects.equals(webDriver.getTitle(), PageType.MY_ACCOUNT.getTitle());
+    }
+}
@@ -0,0 +1,103 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes finished {@link Span}s as OpenTelemetry OTLP/JSON, one file per test under
+ * {@code target/traces} (override with {@code trace.dir}), which trace viewers such as
+ * Jaeger or otel-desktop-viewer can import. Disabled with {@code trace.export=false}.
+ */
+final class TraceExporter {
+
+    private static final Json JSON = new Json();
+    private static final Path DIR = Path.of(System.getProperty("trace.dir", "target/traces"));
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("trace.export", "true"));
+
+    private static final int KIND_INTERNAL = 1;
+    private static final int STATUS_ERROR = 2;
+
+    private TraceExporter() {
+        // utility
+    }
+
+    /**
+     * Export {@code spans} to a file named after the test. Returns the file, or {@code null}
+     * when nothing was written.
+     */
+    static @Nullable Path export(String testName, List<Span> spans) {
+        if (!ENABLED || spans.isEmpty()) {
+            return null;
+        }
+        List<Map<String, Object>> otlpSpans = new ArrayList<>();
+        for (Span span : spans) {
+            otlpSpans.add(toOtlp(span));
+        }
+
+        Map<String, Object> document = Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", attributes(Map.of("service.name", "miniproject-ui-tests"))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "miniproject"),
+                        "spans", otlpSpans)))));
+
+        String fileName = testName.replaceAll("[^A-Za-z0-9._-]+", "_") + "-" + spans.getFirst().getTraceId().substring(0, 8) + ".json";
+        try {
+            Files.createDirectories(DIR);
+            Path file = DIR.resolve(fileName);
+            Path tmp = Files.createTempFile(DIR, "trace", ".tmp");
+            Files.writeString(tmp, JSON.toJson(document));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Could not write trace for " + testName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Object> toOtlp(Span span) {
+        Map<String, Object> otlp = new LinkedHashMap<>();
+        otlp.put("traceId", span.getTraceId());
+        otlp.put("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            otlp.put("parentSpanId", span.getParentSpanId());
+        }
+        otlp.put("name", span.getName());
+        otlp.put("kind", KIND_INTERNAL);
+        // int64 fields are strings in OTLP/JSON
+        otlp.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        otlp.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        otlp.put("attributes", attributes(span.getAttributes()));
+        otlp.put("events", span.getEvents().stream()
+                .map(event -> Map.of("timeUnixNano", Long.toString(event.epochNanos()), "name", event.name()))
+                .toList());
+        if (span.getError() != null) {
+            otlp.put("status", Map.of("code", STATUS_ERROR, "message", span.getError()));
+        }
+        return otlp;
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, Object> values) {
+        List<Map<String, Object>> attributes = new ArrayList<>();
+        values.forEach((key, value) -> attributes.add(Map.of("key", key, "value", anyValue(value))));
+        return attributes;
+    }
+
+    private static Map<String, Object> anyValue(Object value) {
+        return switch (value) {
+            case Boolean b -> Map.of("boolValue", b);
+            case Integer i -> Map.of("intValue", Long.toString(i));
+            case Long l -> Map.of("intValue", Long.toString(l));
+            case Double d -> Map.of("doubleValue", d);
+            default -> Map.of("stringValue", String.valueOf(value));
+        };
+    }
+}
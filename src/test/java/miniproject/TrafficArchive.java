@@ -0,0 +1,176 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The recorded HTTP exchanges of a run, kept as gzipped JSON lines in
+ * {@code target/traffic/archive.jsonl.gz} (override with {@code traffic.archive}).
+ *
+ * <p>Exchanges are keyed on method, URL and a hash of the request body, and kept per test
+ * (the scope), so tests running in parallel do not interleave their sequences. A key recorded
+ * several times by a test (the cart before and after an update) is replayed to that test in
+ * recorded order, and the last response repeats once the sequence is used up. A test that did
+ * not record a key gets the sequence of the first test that did.
+ */
+final class TrafficArchive {
+
+    enum Mode { LIVE, RECORD, REPLAY }
+
+    record Exchange(String scope, String key, int status, String statusText, List<Map<String, String>> headers,
+                    String body) {
+    }
+
+    /**
+     * Where one test is in its replayed sequences; start a new one for every test.
+     */
+    static final class Cursor {
+
+        private final String scope;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        Cursor(String scope) {
+            this.scope = scope;
+        }
+
+        /**
+         * The next recorded response for {@code key}, or {@code null} when it was never recorded.
+         */
+        synchronized @Nullable Exchange next(String key) {
+            List<Exchange> recorded = sequence(scope, key);
+            if (recorded == null) {
+                return null;
+            }
+            int index = positions.merge(key, 1, Integer::sum) - 1;
+            return recorded.get(Math.min(index, recorded.size() - 1));
+        }
+
+        String scope() {
+            return scope;
+        }
+    }
+
+    private static final Json JSON = new Json();
+    private static final Path FILE = Path.of(System.getProperty("traffic.archive", "target/traffic/archive.jsonl.gz"));
+
+    static final Mode MODE = Mode.valueOf(System.getProperty("traffic.mode", "live").trim().toUpperCase());
+
+    // key -> scope -> responses in recorded order
+    private static final Map<String, Map<String, List<Exchange>>> EXCHANGES = new LinkedHashMap<>();
+
+    static {
+        if (MODE == Mode.REPLAY) {
+            load();
+        }
+        if (MODE == Mode.RECORD) {
+            Runtime.getRuntime().addShutdownHook(new Thread(TrafficArchive::finish, "traffic-archive"));
+        }
+    }
+
+    private TrafficArchive() {
+        // utility
+    }
+
+    static String key(String method, String url, @Nullable String body) {
+        if (body == null || body.isEmpty()) {
+            return method + " " + url;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return method + " " + url + " #" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static synchronized void record(Exchange exchange) {
+        EXCHANGES.computeIfAbsent(exchange.key(), _ -> new LinkedHashMap<>())
+                .computeIfAbsent(exchange.scope(), _ -> new ArrayList<>())
+                .add(exchange);
+    }
+
+    // The scope's own sequence, else the first recorded one
+    private static synchronized @Nullable List<Exchange> sequence(String scope, String key) {
+        Map<String, List<Exchange>> byScope = EXCHANGES.get(key);
+        if (byScope == null) {
+            return null;
+        }
+        List<Exchange> own = byScope.get(scope);
+        return List.copyOf(own != null ? own : byScope.values().iterator().next());
+    }
+
+    // ===== Archive file =====
+
+    @SuppressWarnings("unchecked")
+    private static void load() {
+        if (!Files.exists(FILE)) {
+            throw new IllegalStateException("No traffic archive at " + FILE + ", run once with -Dtraffic.mode=record");
+        }
+        try (var reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(FILE)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Map<String, Object> raw = JSON.toType(line, Json.MAP_TYPE);
+                record(new Exchange(
+                        String.valueOf(raw.getOrDefault("scope", "")),
+                        (String) raw.get("key"),
+                        ((Number) raw.get("status")).intValue(),
+                        (String) raw.get("statusText"),
+                        (List<Map<String, String>>) raw.get("headers"),
+                        (String) raw.get("body")));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read traffic archive " + FILE, e);
+        }
+        System.out.println("Loaded " + EXCHANGES.size() + " recorded requests from " + FILE);
+    }
+
+    private static synchronized void finish() {
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(FILE.toAbsolutePath().getParent(), "archive", ".tmp");
+            try (var writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                for (Map<String, List<Exchange>> byScope : EXCHANGES.values()) {
+                    for (List<Exchange> exchanges : byScope.values()) {
+                        for (Exchange exchange : exchanges) {
+                            Map<String, Object> raw = new LinkedHashMap<>();
+                            raw.put("scope", exchange.scope());
+                            raw.put("key", exchange.key());
+                            raw.put("status", exchange.status());
+                            raw.put("statusText", exchange.statusText());
+                            raw.put("headers", exchange.headers());
+                            raw.put("body", exchange.body());
+                            writer.write(JSON.toJson(raw).replace("\n", ""));
+                            writer.newLine();
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Recorded " + EXCHANGES.size() + " requests to " + FILE);
+        } catch (IOException e) {
+            System.err.println("Could not write traffic archive: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package miniproject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TrafficArchiveTest {
+
+    // Unique per test, the archive is shared by the whole JVM
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        // recorded exchanges would end up in the archive written at exit
+        Assumptions.assumeTrue(TrafficArchive.MODE != TrafficArchive.Mode.RECORD);
+        url = "http://traffic-archive-test.invalid/" + System.nanoTime();
+    }
+
+    @Test
+    void testKey() {
+        Assertions.assertEquals("GET " + url, TrafficArchive.key("GET", url, null));
+        Assertions.assertEquals("GET " + url, TrafficArchive.key("GET", url, ""));
+        Assertions.assertEquals(TrafficArchive.key("POST", url, "qty=1"), TrafficArchive.key("POST", url, "qty=1"));
+        Assertions.assertNotEquals(TrafficArchive.key("POST", url, "qty=1"), TrafficArchive.key("POST", url, "qty=2"),
+                "bodies are part of the key");
+        Assertions.assertTrue(TrafficArchive.key("POST", url, "qty=1").startsWith("POST " + url + " #"));
+    }
+
+    @Test
+    void testLastResponseRepeats() {
+        String key = TrafficArchive.key("GET", url, null);
+        TrafficArchive.record(exchange("a", key, "before"));
+        TrafficArchive.record(exchange("a", key, "after"));
+
+        var cursor = new TrafficArchive.Cursor("a");
+        Assertions.assertEquals("before", cursor.next(key).body());
+        Assertions.assertEquals("after", cursor.next(key).body());
+        Assertions.assertEquals("after", cursor.next(key).body(), "last response repeats");
+
+        var restarted = new TrafficArchive.Cursor("a");
+        Assertions.assertEquals("before", restarted.next(key).body(), "a new cursor starts over");
+    }
+
+    @Test
+    void testScopes() {
+        String key = TrafficArchive.key("GET", url, null);
+        TrafficArchive.record(exchange("a", key, "a1"));
+        TrafficArchive.record(exchange("b", key, "b1"));
+        TrafficArchive.record(exchange("a", key, "a2"));
+
+        var b = new TrafficArchive.Cursor("b");
+        Assertions.assertEquals("b1", b.next(key).body(), "own sequence");
+        Assertions.assertEquals("b1", b.next(key).body(), "not interleaved with another scope");
+
+        var other = new TrafficArchive.Cursor("c");
+        Assertions.assertEquals("a1", other.next(key).body(), "falls back to the first scope that recorded the key");
+        Assertions.assertEquals("a2", other.next(key).body());
+
+        Assertions.assertNull(other.next(TrafficArchive.key("GET", url + "/never", null)), "never recorded");
+    }
+
+    private static TrafficArchive.Exchange exchange(String scope, String key, String body) {
+        return new TrafficArchive.Exchange(scope, key, 200, "OK", List.of(), body);
+    }
+}
@@ -0,0 +1,249 @@
+package miniproject;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the browser's HTTP traffic into {@link TrafficArchive}, or serves it back from there,
+ * through the DevTools Fetch domain.
+ *
+ * <p>Configured by {@code traffic.mode} ({@code live}, {@code record} or {@code replay}),
+ * {@code traffic.latency.ms} (delay added to every replayed response, default 0) and
+ * {@code traffic.replay.miss} ({@code fail} keeps the run offline, {@code live} lets
+ * unrecorded requests through).
+ */
+public final class TrafficInterceptor {
+
+    /**
+     * Replayed and unrecorded requests since the last {@link #drain()}, with the first
+     * {@value #MISSED_URLS_SHOWN} unrecorded URLs.
+     */
+    public record Report(long hits, long misses, List<String> missedUrls) {
+
+        @Override
+        public String toString() {
+            String summary = hits + " replayed, " + misses + " missing from the archive";
+            return missedUrls.isEmpty() ? summary : summary + ": " + String.join(", ", missedUrls)
+                    + (misses > missedUrls.size() ? ", ..." : "");
+        }
+    }
+
+    private static final int MISSED_URLS_SHOWN = 10;
+
+    // Fetch.getResponseBody hands back the decoded body, so these would describe bytes that are not there
+    private static final Set<String> FRAMING_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final long LATENCY_MILLIS = Long.getLong("traffic.latency.ms", 0);
+    private static final boolean MISS_GOES_LIVE = "live".equalsIgnoreCase(System.getProperty("traffic.replay.miss", "fail"));
+
+    private static final ScheduledExecutorService DELAYED = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("traffic-latency").daemon().factory());
+
+    // Whole-run totals, summed from the per-test reports
+    private static final AtomicLong RUN_HITS = new AtomicLong();
+    private static final AtomicLong RUN_MISSES = new AtomicLong();
+
+    static {
+        if (TrafficArchive.MODE == TrafficArchive.Mode.REPLAY) {
+            Runtime.getRuntime().addShutdownHook(new Thread(TrafficInterceptor::printRunTotals, "traffic-replay"));
+        }
+    }
+
+    private final DevTools devTools;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final List<String> missedUrls = new CopyOnWriteArrayList<>();
+
+    // The test using the driver; a pooled driver serves one test at a time
+    private volatile TrafficArchive.Cursor cursor = new TrafficArchive.Cursor("");
+
+    private TrafficInterceptor(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Start recording or replaying on a freshly created driver. Returns {@code null} in live mode
+     * or when the driver has no DevTools.
+     */
+    public static TrafficInterceptor install(WebDriver webDriver) {
+        if (TrafficArchive.MODE == TrafficArchive.Mode.LIVE || !(webDriver instanceof HasDevTools hasDevTools)) {
+            return null;
+        }
+        DevTools devTools = hasDevTools.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        var interceptor = new TrafficInterceptor(devTools);
+        if (TrafficArchive.MODE == TrafficArchive.Mode.RECORD) {
+            interceptor.startRecording();
+        } else {
+            interceptor.startReplaying();
+        }
+        return interceptor;
+    }
+
+    /**
+     * Record and replay for the test {@code scope} from now on, from the start of its sequences.
+     */
+    public void beginTest(String scope) {
+        cursor = new TrafficArchive.Cursor(scope);
+    }
+
+    public Report drain() {
+        var report = new Report(hits.getAndSet(0), misses.getAndSet(0), List.copyOf(missedUrls));
+        missedUrls.clear();
+        RUN_HITS.addAndGet(report.hits());
+        RUN_MISSES.addAndGet(report.misses());
+        return report;
+    }
+
+    private static void printRunTotals() {
+        long runHits = RUN_HITS.get();
+        long runMisses = RUN_MISSES.get();
+        System.out.printf("Traffic replay: %d hits, %d misses (%.0f%% served from archive)%n",
+                runHits, runMisses, runHits + runMisses == 0 ? 0 : 100.0 * runHits / (runHits + runMisses));
+    }
+
+    // ===== Record =====
+
+    private void startRecording() {
+        // Everything has to reach the network to be recorded
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.send(new Command<>("Network.setCacheDisabled", Map.of("cacheDisabled", true)));
+        devTools.send(new Command<>("Fetch.enable",
+                Map.of("patterns", List.of(Map.of("urlPattern", "*", "requestStage", "Response")))));
+
+        devTools.addListener(DevToolsEvents.named("Fetch.requestPaused"), e -> {
+            String requestId = (String) e.get("requestId");
+            try {
+                // Requests that failed on the network have an error reason and no response to keep
+                if (e.get("responseErrorReason") == null && e.get("responseStatusCode") instanceof Number) {
+                    TrafficArchive.record(toExchange(e, responseBody(requestId)));
+                }
+            } catch (RuntimeException ex) {
+                System.err.println("Could not record " + requestUrl(e) + ": " + ex.getMessage());
+            } finally {
+                continueRequest(requestId);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private TrafficArchive.Exchange toExchange(Map<String, Object> paused, String body) {
+        Map<String, Object> request = (Map<String, Object>) paused.get("request");
+        return new TrafficArchive.Exchange(
+                cursor.scope(),
+                key(request),
+                ((Number) paused.get("responseStatusCode")).intValue(),
+                String.valueOf(paused.getOrDefault("responseStatusText", "")),
+                replayableHeaders((List<Map<String, String>>) paused.getOrDefault("responseHeaders", List.of())),
+                body);
+    }
+
+    /**
+     * {@code headers} without the content and transfer encodings and the length, which the
+     * browser would otherwise apply to the already decoded body it gets back on replay.
+     */
+    static List<Map<String, String>> replayableHeaders(List<Map<String, String>> headers) {
+        return headers.stream()
+                .filter(header -> !FRAMING_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT)))
+                .toList();
+    }
+
+    // Base64 of the body; redirects and empty responses have none
+    @SuppressWarnings("unchecked")
+    private String responseBody(String requestId) {
+        try {
+            Map<String, Object> result = devTools.send(
+                    new Command<>("Fetch.getResponseBody", Map.of("requestId", requestId), Json.MAP_TYPE));
+            String body = (String) result.get("body");
+            return Boolean.TRUE.equals(result.get("base64Encoded"))
+                    ? body
+                    : Base64.getEncoder().encodeToString(body.getBytes(StandardCharsets.UTF_8));
+        } catch (WebDriverException e) {
+            return "";
+        }
+    }
+
+    // ===== Replay =====
+
+    private void startReplaying() {
+        devTools.send(new Command<>("Fetch.enable",
+                Map.of("patterns", List.of(Map.of("urlPattern", "*", "requestStage", "Request")))));
+
+        devTools.addListener(DevToolsEvents.named("Fetch.requestPaused"), e -> {
+            String requestId = (String) e.get("requestId");
+            @SuppressWarnings("unchecked")
+            TrafficArchive.Exchange exchange = cursor.next(key((Map<String, Object>) e.get("request")));
+
+            if (exchange == null) {
+                if (misses.incrementAndGet() <= MISSED_URLS_SHOWN) {
+                    missedUrls.add(requestUrl(e));
+                }
+                if (MISS_GOES_LIVE) {
+                    continueRequest(requestId);
+                } else {
+                    send("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "InternetDisconnected"));
+                }
+                return;
+            }
+
+            hits.incrementAndGet();
+            Map<String, Object> params = new HashMap<>();
+            params.put("requestId", requestId);
+            params.put("responseCode", exchange.status());
+            // Archives recorded before the framing headers were dropped still carry them
+            params.put("responseHeaders", replayableHeaders(exchange.headers()));
+            params.put("body", exchange.body());
+            if (!exchange.statusText().isEmpty()) {
+                params.put("responsePhrase", exchange.statusText());
+            }
+
+            if (LATENCY_MILLIS > 0) {
+                DELAYED.schedule(() -> send("Fetch.fulfillRequest", params), LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+            } else {
+                send("Fetch.fulfillRequest", params);
+            }
+        });
+    }
+
+    // ===== Helpers =====
+
+    private static String key(Map<String, Object> request) {
+        return TrafficArchive.key((String) request.get("method"), (String) request.get("url"), (String) request.get("postData"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String requestUrl(Map<String, Object> paused) {
+        return (String) ((Map<String, Object>) paused.get("request")).get("url");
+    }
+
+    private void continueRequest(String requestId) {
+        send("Fetch.continueRequest", Map.of("requestId", requestId));
+    }
+
+    private void send(String method, Map<String, Object> params) {
+        try {
+            devTools.send(new Command<>(method, params));
+        } catch (WebDriverException e) {
+            // the page may have navigated away, which cancels its paused requests
+            System.err.println(method + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package miniproject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The browser profile a test (or every test of a class) needs, overriding {@code browser.profile}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface UsesBrowserProfile {
+
+    BrowserProfile value();
+}
@@ -0,0 +1,188 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Starts browsers from a template profile whose HTTP cache already holds the site's CSS, JS
+ * and images. Enabled with {@code cache.warm=true}.
+ *
+ * <p>The template ({@code target/browser-template}) is rebuilt once per run by a priming pass
+ * over the main routes. A second browser started from the primed cache then loads the same
+ * routes, so the cold and warm page-load times compare the same pages, measured the same way.
+ * Every session gets its own copy of the template's cache directories, so sessions never share
+ * cookies, storage or cache writes; the copy is deleted when the session quits.
+ */
+public final class WarmCache {
+
+    private static final Path TEMPLATE = Path.of("target", "browser-template");
+    private static final Path SESSIONS = Path.of("target", "browser-sessions");
+
+    // Only the caches are copied; cookies and storage stay out of the sessions
+    private static final List<String> CACHE_DIRS = List.of("Default/Cache", "Default/Code Cache");
+
+    private static final List<PageType> PRIMING_ROUTES = List.of(
+            PageType.HOME, PageType.WOMEN, PageType.MEN, PageType.SALE, PageType.CREATE_ACCOUNT);
+
+    // Navigation-timing load event, from the start of the navigation, averaged over the routes
+    private static final String LOAD_SCRIPT = "var nav = performance.getEntriesByType('navigation')[0];"
+            + " return nav ? Math.round(nav.loadEventEnd - nav.startTime) : 0;";
+
+    private static boolean primed;
+    private static @Nullable Duration coldMeanLoad;
+    private static @Nullable Duration warmMeanLoad;
+
+    private WarmCache() {
+        // utility
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("cache.warm");
+    }
+
+    /**
+     * Point {@code options} at a fresh copy of the primed template, priming it first if needed.
+     * Returns a listener that deletes the copy once the driver quits, or {@code null} when the
+     * copy failed and the browser starts cold.
+     */
+    public static @Nullable WebDriverListener applyTo(ChromeOptions options) {
+        prime();
+        try {
+            Path userDataDir = newSessionDir();
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+            return new WebDriverListener() {
+                @Override
+                public void afterQuit(WebDriver driver) {
+                    deleteSessionDir(userDataDir);
+                }
+            };
+        } catch (IOException e) {
+            System.err.println("Could not copy warm cache, starting cold: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Mean page-load time over the priming routes with an empty cache; {@code null} if not primed.
+     */
+    public static synchronized @Nullable Duration coldMeanLoad() {
+        return coldMeanLoad;
+    }
+
+    /**
+     * Mean page-load time over the same routes, measured the same way, from the primed cache;
+     * {@code null} if not measured.
+     */
+    public static synchronized @Nullable Duration warmMeanLoad() {
+        return warmMeanLoad;
+    }
+
+    private static Path newSessionDir() throws IOException {
+        Path userDataDir = Files.createDirectories(SESSIONS.resolve(UUID.randomUUID().toString()));
+        for (String cacheDir : CACHE_DIRS) {
+            copyTree(TEMPLATE.resolve(cacheDir), userDataDir.resolve(cacheDir));
+        }
+        return userDataDir;
+    }
+
+    private static void deleteSessionDir(Path userDataDir) {
+        try {
+            deleteTree(userDataDir);
+        } catch (IOException e) {
+            System.err.println("Could not delete browser session copy " + userDataDir + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized void prime() {
+        if (primed) {
+            return;
+        }
+        primed = true;
+
+        long started = System.nanoTime();
+        try {
+            deleteTree(SESSIONS);
+            deleteTree(TEMPLATE);
+            Files.createDirectories(TEMPLATE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare browser template", e);
+        }
+
+        // quitting flushes the cache to disk
+        coldMeanLoad = meanLoad(TEMPLATE, "Priming pass");
+        try {
+            Path warmDir = newSessionDir();
+            warmMeanLoad = meanLoad(warmDir, "Warm measuring pass");
+            deleteSessionDir(warmDir);
+        } catch (IOException e) {
+            System.err.println("Could not copy warm cache for the measuring pass: " + e.getMessage());
+        }
+
+        System.out.println("Primed browser cache in " + Duration.ofNanos(System.nanoTime() - started).toMillis()
+                + " ms (page loads over " + PRIMING_ROUTES.size() + " routes averaged "
+                + (coldMeanLoad != null ? coldMeanLoad.toMillis() : "?") + " ms cold, "
+                + (warmMeanLoad != null ? warmMeanLoad.toMillis() : "?") + " ms warm)");
+    }
+
+    // Loads every priming route in a headless browser on userDataDir; null if the pass failed
+    private static @Nullable Duration meanLoad(Path userDataDir, String pass) {
+        var options = new ChromeOptions();
+        options.addArguments("--headless=new", "--user-data-dir=" + userDataDir.toAbsolutePath());
+        var driver = new ChromeDriver(options);
+        try {
+            Duration total = Duration.ZERO;
+            for (PageType route : PRIMING_ROUTES) {
+                driver.get(route.getUrl());
+                total = total.plus(Duration.ofMillis(((Number) ((JavascriptExecutor) driver).executeScript(LOAD_SCRIPT)).longValue()));
+            }
+            return total.dividedBy(PRIMING_ROUTES.size());
+        } catch (WebDriverException e) {
+            System.err.println(pass + " failed: " + e.getMessage());
+            return null;
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination);
+                }
+            }
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package miniproject;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes the resource-timing waterfalls captured with {@code perf.waterfall=true}, one TSV per
+ * test under {@code target/waterfalls}, and at exit prints per {@link PageType} the slowest and
+ * largest resources and the render-blocking scripts ({@code perf.waterfall.top}, default 5, each).
+ */
+final class WaterfallReport {
+
+    private static final Path DIR = Path.of("target", "waterfalls");
+    private static final int TOP = Integer.getInteger("perf.waterfall.top", 5);
+
+    // Every resource seen this run, per page; only filled while capturing
+    private static final Map<PageType, List<ResourceTiming>> RUN = new EnumMap<>(PageType.class);
+    private static final Map<PageType, Integer> TRUNCATED = new EnumMap<>(PageType.class);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WaterfallReport::printSummary, "waterfall-summary"));
+    }
+
+    private WaterfallReport() {
+        // utility
+    }
+
+    /**
+     * Write the waterfalls of {@code samples}; returns the file, or {@code null} when none was captured.
+     */
+    static @Nullable Path write(String testName, List<PageTimings.Sample> samples) {
+        List<PageTimings.Sample> captured = samples.stream().filter(sample -> !sample.resources().isEmpty()).toList();
+        if (captured.isEmpty()) {
+            return null;
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# start_ms\tduration_ms\tdns_ms\tconnect_ms\tttfb_ms\tdownload_ms\ttransfer_bytes\tinitiator\tblocking\turl");
+        int navigation = 0;
+        for (PageTimings.Sample sample : captured) {
+            lines.add("# " + ++navigation + " " + sample.route() + " " + sample.url()
+                    + (sample.truncated() ? " (truncated: resource-timing buffer full, later requests missing)" : ""));
+            for (ResourceTiming resource : sample.resources()) {
+                lines.add(String.join("\t",
+                        millis(resource.start()), millis(resource.duration()), millis(resource.dns()),
+                        millis(resource.connect()), millis(resource.ttfb()), millis(resource.download()),
+                        Long.toString(resource.transferSize()), resource.initiatorType(),
+                        resource.renderBlocking() ? "blocking" : "", resource.url()));
+            }
+            synchronized (RUN) {
+                RUN.computeIfAbsent(sample.route(), r -> new ArrayList<>()).addAll(sample.resources());
+                if (sample.truncated()) {
+                    TRUNCATED.merge(sample.route(), 1, Integer::sum);
+                }
+            }
+        }
+
+        try {
+            Path file = ArtifactStore.newFile(DIR, testName, "tsv");
+            Files.write(file, lines);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Could not write waterfall for " + testName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void printSummary() {
+        synchronized (RUN) {
+            if (RUN.isEmpty()) {
+                return;
+            }
+            System.out.println("Resource waterfalls over the run:");
+            RUN.forEach((route, resources) -> {
+                Integer truncated = TRUNCATED.get(route);
+                System.out.println("  " + route + " (" + resources.size() + " requests"
+                        + (truncated != null ? ", " + truncated + " captures truncated, raise perf.waterfall.buffer" : "") + ")");
+                print("slowest", resources, ResourceTiming::duration,
+                        resource -> Math.round(resource.duration()) + " ms");
+                print("largest", resources, ResourceTiming::transferSize,
+                        resource -> String.format(Locale.ROOT, "%.1f KiB", resource.transferSize() / 1024.0));
+                List<String> blockingScripts = resources.stream()
+                        .filter(resource -> resource.renderBlocking() && "script".equals(resource.initiatorType()))
+                        .map(ResourceTiming::url)
+                        .distinct()
+                        .toList();
+                if (!blockingScripts.isEmpty()) {
+                    System.out.println("    render-blocking scripts:");
+                    blockingScripts.forEach(url -> System.out.println("      " + url));
+                }
+            });
+        }
+    }
+
+    // Worst occurrence of each URL, since most resources load on every visit to the page
+    private static void print(String label, List<ResourceTiming> resources, ToDoubleFunction<ResourceTiming> key,
+                              Function<ResourceTiming, String> describe) {
+        System.out.println("    " + label + ":");
+        Set<String> seen = new HashSet<>();
+        resources.stream()
+                .sorted(Comparator.comparingDouble(key).reversed())
+                .filter(resource -> seen.add(resource.url()))
+                .limit(TOP)
+                .forEach(resource -> System.out.println("      " + describe.apply(resource) + "  " + resource.url()));
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}